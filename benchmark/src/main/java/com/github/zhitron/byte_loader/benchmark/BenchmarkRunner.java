@@ -0,0 +1,36 @@
+package com.github.zhitron.byte_loader.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkRunner 是 benchmarks.jar 的入口，在 JMH 命令行参数的基础上总是启用 GC 分析器，
+ * 以便在吞吐量之外同时报告每次操作的内存分配量（gc.alloc.rate.norm）。
+ *
+ * @author zhitron
+ */
+public final class BenchmarkRunner {
+    /**
+     * 私有构造函数，防止实例化此类。
+     */
+    private BenchmarkRunner() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * 运行基准测试，参数与 JMH 命令行参数一致，例如 {@code -p source=BYTE_ARRAY -p bufferSize=1024}。
+     *
+     * @param args JMH 命令行参数
+     * @throws Exception 如果运行过程中发生错误
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
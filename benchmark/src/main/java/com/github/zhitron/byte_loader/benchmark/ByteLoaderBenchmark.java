@@ -0,0 +1,106 @@
+package com.github.zhitron.byte_loader.benchmark;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ByteLoaderBenchmark 测量每一种数据源在不同缓冲区大小下的吞吐量。
+ * 每次调用都会创建一个新的加载器并读完全部数据，因此结果包含加载器的创建和关闭开销。
+ *
+ * @author zhitron
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ByteLoaderBenchmark {
+    /**
+     * 查看操作使用的最大偏移量。
+     */
+    private static final int PEEK_OFFSET = 16;
+
+    /**
+     * 被测试的数据源。
+     */
+    @Param
+    public Source source;
+
+    /**
+     * 加载器的缓冲区大小。
+     */
+    @Param({"64", "1024", "8192", "65536"})
+    public int bufferSize;
+
+    /**
+     * 每次调用读取的数据字节数。
+     * 1048576 等于 {@link com.github.zhitron.byte_loader.ByteLoaderFactory#MAPPED_FILE_THRESHOLD}，FILE 与 PATH 使用内存映射加载；
+     * 65536 低于该阈值，FILE 与 PATH 不使用内存映射而是逐块读取文件。
+     */
+    @Param({"65536", "1048576"})
+    public int size;
+
+    /**
+     * 基准测试使用的数据。
+     */
+    private Payload payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        payload = new Payload(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        payload.delete();
+    }
+
+    /**
+     * 通过 {@code hasNextByteValue()} 和 {@code nextByteValue()} 逐个读取全部字节。
+     *
+     * @param blackhole 用于消费结果，防止被优化
+     * @throws Exception 如果读取过程中发生错误
+     */
+    @Benchmark
+    public void nextByteValue(Blackhole blackhole) throws Exception {
+        try (ByteLoader loader = source.open(payload, bufferSize)) {
+            while (loader.hasNextByteValue()) {
+                blackhole.consume(loader.nextByteValue());
+            }
+        }
+    }
+
+    /**
+     * 每读取一个字节前先通过 {@code peek(offset)} 查看其后的字节。
+     *
+     * @param blackhole 用于消费结果，防止被优化
+     * @throws Exception 如果读取过程中发生错误
+     */
+    @Benchmark
+    public void peek(Blackhole blackhole) throws Exception {
+        int offset = Math.min(PEEK_OFFSET, bufferSize - 1);
+        try (ByteLoader loader = source.open(payload, bufferSize)) {
+            while (loader.peek() != -1) {
+                blackhole.consume(loader.peek(offset));
+                blackhole.consume(loader.pop());
+            }
+        }
+    }
+
+    /**
+     * 通过 {@code toContent()} 一次读取全部字节。
+     *
+     * @return 读取到的全部字节
+     * @throws Exception 如果读取过程中发生错误
+     */
+    @Benchmark
+    public byte[] toContent() throws Exception {
+        try (ByteLoader loader = source.open(payload, bufferSize)) {
+            return loader.toContent();
+        }
+    }
+}
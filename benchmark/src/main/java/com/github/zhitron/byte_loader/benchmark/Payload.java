@@ -0,0 +1,81 @@
+package com.github.zhitron.byte_loader.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Payload 保存基准测试使用的同一份数据的各种表现形式，每种形式加载后都得到 size 个字节。
+ *
+ * @author zhitron
+ */
+final class Payload {
+    /**
+     * 原始字节数据。
+     */
+    final byte[] bytes;
+    /**
+     * 以 char 表示的数据，每个 char 对应 2 个字节。
+     */
+    final char[] chars;
+    /**
+     * 以 short 表示的数据，每个 short 对应 2 个字节。
+     */
+    final short[] shorts;
+    /**
+     * 以 int 表示的数据，每个 int 对应 4 个字节。
+     */
+    final int[] ints;
+    /**
+     * 以 long 表示的数据，每个 long 对应 8 个字节。
+     */
+    final long[] longs;
+    /**
+     * 以字符串表示的数据，内容为 ASCII 文本，每个 char 对应 2 个字节。
+     */
+    final String text;
+    /**
+     * 写有原始字节数据的临时文件。
+     */
+    final Path file;
+
+    /**
+     * 构造一个新的 Payload 实例，并创建对应的临时文件。
+     *
+     * @param size 数据的字节数，必须是 8 的倍数
+     * @throws IOException 如果创建临时文件时发生错误
+     */
+    Payload(int size) throws IOException {
+        if (size <= 0 || size % 8 != 0) {
+            throw new IllegalArgumentException("size must be a positive multiple of 8");
+        }
+        Random random = new Random(size);
+        this.bytes = new byte[size];
+        random.nextBytes(bytes);
+        this.chars = new char[size / 2];
+        this.shorts = new short[size / 2];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) random.nextInt();
+            shorts[i] = (short) random.nextInt();
+        }
+        this.ints = random.ints(size / 4).toArray();
+        this.longs = random.longs(size / 8).toArray();
+        StringBuilder builder = new StringBuilder(size / 2);
+        for (int i = 0; i < size / 2; i++) {
+            builder.append((char) (' ' + random.nextInt(95)));
+        }
+        this.text = builder.toString();
+        this.file = Files.createTempFile("byte-loader-benchmark", ".bin");
+        Files.write(file, bytes);
+    }
+
+    /**
+     * 删除临时文件。
+     *
+     * @throws IOException 如果删除临时文件时发生错误
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.zhitron.byte_loader.benchmark;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+import com.github.zhitron.byte_loader.ByteLoaderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Source 枚举了 {@link ByteLoaderFactory} 支持的每一种数据源，用于基准测试的参数化。
+ *
+ * @author zhitron
+ */
+public enum Source {
+    BYTE_ARRAY {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.bytes, bufferSize);
+        }
+    },
+    CHAR_ARRAY {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.chars, bufferSize);
+        }
+    },
+    SHORT_ARRAY {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.shorts, bufferSize);
+        }
+    },
+    INT_ARRAY {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.ints, bufferSize);
+        }
+    },
+    LONG_ARRAY {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.longs, bufferSize);
+        }
+    },
+    INT_STREAM {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(IntStream.of(payload.ints), bufferSize);
+        }
+    },
+    LONG_STREAM {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(LongStream.of(payload.longs), bufferSize);
+        }
+    },
+    CHAR_BUFFER {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(CharBuffer.wrap(payload.chars), bufferSize);
+        }
+    },
+    READER {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(new CharArrayReader(payload.chars), bufferSize);
+        }
+    },
+    BYTE_BUFFER {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(ByteBuffer.wrap(payload.bytes), bufferSize);
+        }
+    },
+    BYTE_BUFFER_WRAP {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.wrap(ByteBuffer.wrap(payload.bytes));
+        }
+    },
+    INPUT_STREAM {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(new ByteArrayInputStream(payload.bytes), bufferSize);
+        }
+    },
+    READABLE_BYTE_CHANNEL {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(Channels.newChannel(new ByteArrayInputStream(payload.bytes)), bufferSize);
+        }
+    },
+    STRING {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.text, bufferSize);
+        }
+    },
+    STRING_UTF_8 {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) {
+            return ByteLoaderFactory.of(payload.text, StandardCharsets.UTF_8, bufferSize);
+        }
+    },
+    FILE {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) throws IOException {
+            return ByteLoaderFactory.of(payload.file.toFile(), bufferSize);
+        }
+    },
+    PATH {
+        @Override
+        ByteLoader open(Payload payload, int bufferSize) throws IOException {
+            return ByteLoaderFactory.of(payload.file, bufferSize);
+        }
+    };
+
+    /**
+     * 从数据创建一个新的加载器。
+     *
+     * @param payload    基准测试使用的数据
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     * @throws IOException 如果打开数据源时发生错误
+     */
+    abstract ByteLoader open(Payload payload, int bufferSize) throws IOException;
+}
@@ -0,0 +1,42 @@
+package com.github.zhitron.byte_loader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 直接缓冲区池接口，用于为 {@link ByteLoader} 提供内部缓冲区。
+ * ByteLoader 在构造时从池中借出缓冲区，并在关闭时归还，以避免频繁分配直接内存。
+ * 实现类必须是线程安全的，因为缓冲区可能在一个线程中借出而在另一个线程中归还。
+ *
+ * @author zhitron
+ * @see ByteLoader#setDefaultBufferPool(ByteBufferPool) 设置默认使用的缓冲区池
+ */
+public interface ByteBufferPool {
+    /**
+     * 不进行池化的缓冲区池，每次借出时都分配新的直接缓冲区，归还时不做任何处理。
+     */
+    ByteBufferPool UNPOOLED = new ByteBufferPool() {
+        @Override
+        public ByteBuffer acquire(int capacity) {
+            return ByteBuffer.allocateDirect(capacity);
+        }
+
+        @Override
+        public void release(ByteBuffer buffer) {
+        }
+    };
+
+    /**
+     * 借出一个直接缓冲区。
+     *
+     * @param capacity 需要的最小容量，必须大于 0
+     * @return 返回一个容量不小于 capacity 的直接缓冲区，其位置和界限处于未定义状态
+     */
+    ByteBuffer acquire(int capacity);
+
+    /**
+     * 归还一个通过 {@link #acquire(int)} 借出的缓冲区。归还后调用方不得再使用该缓冲区。
+     *
+     * @param buffer 要归还的缓冲区
+     */
+    void release(ByteBuffer buffer);
+}
@@ -1,90 +1,308 @@
 package com.github.zhitron.byte_loader;
 
+import com.github.zhitron.byte_loader.impl.StripedByteBufferPool;
+
 import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import java.util.zip.Checksum;
 
 /**
  * ByteLoader 是一个抽象类，用于加载和处理字节数据。
  * 它实现了 AutoCloseable 接口以支持自动资源管理，并实现了 ByteIterator 接口以提供字节迭代功能。
+ * <p>
+ * {@link #peek(int)} 与 {@link #pop(int)} 等方法以无符号形式返回字节值（0 到 255），-1 只表示到达流末尾，
+ * 因此值为 {@code 0xFF} 的字节与流末尾可以区分；需要有符号的字节值时使用 {@code (byte) value} 转换。
  *
  * @author zhitron
  */
 public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator {
+    /**
+     * {@link #tryPeek(int)} 与 {@link #tryPop(int)} 的返回值，表示数据源暂时没有可用的数据，但尚未到达流末尾。
+     */
+    public static final int WOULD_BLOCK = -2;
+    /**
+     * 加载器关闭后使用的空缓冲区，关闭后的加载器不再持有池中的缓冲区。
+     */
+    private static final ByteBuffer CLOSED = ByteBuffer.allocateDirect(0);
+    /**
+     * 未指定缓冲区池时使用的默认缓冲区池。
+     */
+    private static volatile ByteBufferPool defaultBufferPool = new StripedByteBufferPool();
     /**
      * 内部使用的 ByteBuffer，用于存储从数据源加载的字节数据。
      * 使用 direct buffer 以提高 I/O 操作性能。
      */
-    private final ByteBuffer buffer;
+    private ByteBuffer buffer;
+    /**
+     * 借出内部缓冲区的缓冲区池，视图模式下为 null。
+     */
+    private final ByteBufferPool pool;
+    /**
+     * 从缓冲区池中借出的原始缓冲区，内部缓冲区是它的一个切片。关闭后为 null。
+     */
+    private ByteBuffer pooled;
+    /**
+     * 是否为视图模式。视图模式下内部缓冲区直接引用调用方提供的数据，
+     * 其中已包含全部字节，不会再调用 {@link #load(ByteBuffer)} 进行填充。
+     */
+    private final boolean view;
+    /**
+     * 构造时指定的缓冲区大小，内部缓冲区为保留标记区域而扩容后保持不变。
+     */
+    private final int bufferSize;
     /**
-     * 缓存上一个读取的字节值，避免重复读取相同位置的数据。
-     * 初始值为 -1 表示没有缓存任何有效数据。
+     * 已经从数据源加载到内部缓冲区或在数据源中直接跳过的字节总数，用于计算读取位置。
+     * 内部缓冲区中的 [0, limit) 对应于读取位置 [loaded - limit, loaded)。
      */
-    private int cached = -1;
+    private long loaded;
+    /**
+     * 通过 {@link #mark(int)} 标记的读取位置，没有有效的标记时为 -1。
+     */
+    private long mark = -1;
+    /**
+     * 标记失效前最多可以读取的字节数。
+     */
+    private int markLimit;
+    /**
+     * 运行状况监听器，未设置时为 null。
+     */
+    private ByteLoaderListener listener;
+    /**
+     * 上一次通过 {@link ByteLoaderListener#onConsume(ByteLoader, long)} 报告时的读取位置。
+     */
+    private long reported;
+    /**
+     * 附加到加载器上的校验和，没有附加时为 null。
+     */
+    private ByteLoaderChecksum[] checksums;
+    /**
+     * 最近一次非阻塞填充是否因为数据源暂时没有可用的数据而结束。
+     */
+    private boolean blocked;
 
     /**
-     * 构造一个新的 ByteLoader 实例，指定缓冲区大小。
+     * 构造一个新的 ByteLoader 实例，指定缓冲区大小，内部缓冲区从默认缓冲区池中借出。
      *
      * @param bufferSize 缓冲区大小，必须大于 0
      * @throws IllegalArgumentException 如果 bufferSize 小于等于 0
      */
     public ByteLoader(int bufferSize) {
+        this(bufferSize, defaultBufferPool);
+    }
+
+    /**
+     * 构造一个新的 ByteLoader 实例，指定缓冲区大小，内部缓冲区从指定的缓冲区池中借出。
+     * 缓冲区在 {@link #close()} 时归还给缓冲区池。
+     *
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param pool       提供内部缓冲区的缓冲区池，不能为 null
+     * @throws IllegalArgumentException 如果 bufferSize 小于等于 0
+     */
+    protected ByteLoader(int bufferSize, ByteBufferPool pool) {
         int minBufferSize = minBufferSize();
         if (minBufferSize < 0) minBufferSize = 0;
         if (bufferSize < minBufferSize || bufferSize == 0) {
             throw new IllegalArgumentException("bufferSize must be greater than " + bufferSize);
         }
-        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.pool = Objects.requireNonNull(pool);
+        this.pooled = pool.acquire(bufferSize);
+        this.buffer = this.pooled.clear().slice(0, bufferSize);
         this.buffer.flip(); // 准备读取模式
+        this.view = false;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 构造一个视图模式的 ByteLoader 实例，直接从指定缓冲区的剩余字节中读取数据。
+     * 不会分配内部缓冲区，也不会复制数据；读取操作不会改变原缓冲区的位置。
+     * 支持堆缓冲区、直接缓冲区以及只读缓冲区。
+     *
+     * @param content 提供全部数据的缓冲区，不能为 null
+     */
+    protected ByteLoader(ByteBuffer content) {
+        this.buffer = content.slice(); // 共享原缓冲区的内容，位置与界限独立
+        this.pool = null;
+        this.view = true;
+        this.bufferSize = this.buffer.capacity();
+        this.loaded = this.buffer.limit();
+    }
+
+    /**
+     * 在借出内部缓冲区之前校验子类的构造参数，子类在 {@code super(...)} 的参数中调用此方法。
+     * 构造方法抛出异常时不会再调用 {@link #close()}，因此参数必须在借出缓冲区之前校验，否则缓冲区无法归还。
+     *
+     * @param bufferSize 缓冲区大小
+     * @param check      校验构造参数的操作，参数不合法时抛出异常
+     * @return 传入的缓冲区大小
+     */
+    protected static int checkArguments(int bufferSize, Runnable check) {
+        check.run();
+        return bufferSize;
+    }
+
+    /**
+     * 获取未指定缓冲区池时使用的默认缓冲区池。
+     *
+     * @return 默认缓冲区池
+     */
+    public static ByteBufferPool getDefaultBufferPool() {
+        return defaultBufferPool;
+    }
+
+    /**
+     * 设置未指定缓冲区池时使用的默认缓冲区池，只影响之后创建的加载器。
+     * 传入 {@link ByteBufferPool#UNPOOLED} 可以关闭池化。
+     *
+     * @param pool 新的默认缓冲区池，不能为 null
+     */
+    public static void setDefaultBufferPool(ByteBufferPool pool) {
+        defaultBufferPool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * 获取运行状况监听器。
+     *
+     * @return 监听器，未设置时返回 null
+     */
+    public final ByteLoaderListener getListener() {
+        return listener;
+    }
+
+    /**
+     * 设置运行状况监听器，用于统计加载次数、加载耗时、缓冲区填充率等信息。
+     * 未设置监听器时不会产生任何额外的计时或统计开销。
+     *
+     * @param listener 监听器，为 null 时取消监听
+     * @see com.github.zhitron.byte_loader.impl.ByteLoaderMetrics
+     */
+    public final void setListener(ByteLoaderListener listener) {
+        if (listener != null && this.listener == null) {
+            this.reported = this.position();
+        }
+        this.listener = listener;
+    }
+
+    /**
+     * 附加一个校验和计算，之后每次填充内部缓冲区时，使用新加载的字节更新该校验和。
+     * 计算范围从当前的读取位置开始，详见 {@link ByteLoaderChecksum}。
+     * 附加校验和后，跳过与传输不再直接在数据源中进行，而是通过内部缓冲区加载以保证每个字节都被计算；
+     * 目标位置不在内部缓冲区中的 {@link #seek(long)} 不再被支持。
+     *
+     * @param checksum 校验和，例如 {@link java.util.zip.CRC32C}，不能为 null
+     * @return 附加的校验和计算
+     */
+    public final ByteLoaderChecksum checksum(Checksum checksum) {
+        return this.attach(new ByteLoaderChecksum(Objects.requireNonNull(checksum), null));
+    }
+
+    /**
+     * 附加一个摘要计算，之后每次填充内部缓冲区时，使用新加载的字节更新该摘要。
+     * 计算范围与限制与 {@link #checksum(Checksum)} 相同。
+     *
+     * @param digest 摘要，例如 SHA-256，不能为 null
+     * @return 附加的摘要计算
+     */
+    public final ByteLoaderChecksum checksum(MessageDigest digest) {
+        return this.attach(new ByteLoaderChecksum(null, Objects.requireNonNull(digest)));
+    }
+
+    /**
+     * 附加校验和计算，并使用内部缓冲区中尚未读取的字节更新它。
+     *
+     * @param checksum 校验和计算
+     * @return 附加的校验和计算
+     */
+    private ByteLoaderChecksum attach(ByteLoaderChecksum checksum) {
+        ByteBuffer buffer = this.buffer;
+        if (buffer.hasRemaining()) {
+            checksum.update(buffer.slice());
+        }
+        ByteLoaderChecksum[] checksums = this.checksums;
+        if (checksums == null) {
+            this.checksums = new ByteLoaderChecksum[]{checksum};
+        } else {
+            checksums = Arrays.copyOf(checksums, checksums.length + 1);
+            checksums[checksums.length - 1] = checksum;
+            this.checksums = checksums;
+        }
+        return checksum;
     }
 
     /**
      * 关闭资源。此方法应释放与该加载器关联的所有资源。
-     * 默认实现为空，子类可以根据需要覆盖此方法。
+     * 默认实现将内部缓冲区归还给缓冲区池，重复调用不会重复归还；之后需要读取数据的操作会抛出 {@link IllegalStateException}。
+     * 子类覆盖此方法时应调用 {@code super.close()}。
      *
      * @throws Exception 如果关闭过程中发生错误
      */
     @Override
     public void close() throws Exception {
+        if (listener != null) {
+            this.reportConsumed(listener);
+        }
+        ByteBuffer pooled = this.pooled;
+        if (pooled != null) {
+            this.pooled = null;
+            this.buffer = CLOSED;
+            this.pool.release(pooled);
+        }
+    }
+
+    /**
+     * 检查加载器是否已经关闭。
+     *
+     * @throws IllegalStateException 如果加载器已经关闭
+     */
+    private void ensureOpen() {
+        if (buffer == CLOSED) {
+            throw new IllegalStateException("ByteLoader has been closed");
+        }
     }
 
     /**
      * 检查是否还有下一个字节值可用。
-     * 如果有缓存值则直接返回 true，否则调用 peek() 方法检查是否有下一个值。
+     * 内部缓冲区中有剩余字节时直接返回 true，否则调用 peek() 方法检查是否有下一个值。
      *
      * @return 如果有下一个字节值返回 true，否则返回 false
      */
     @Override
     public final boolean hasNextByteValue() {
-        if (cached != -1) return true;
-        int value = this.peek();
-        cached = value;
-        return value != -1;
+        return buffer.hasRemaining() || this.peek() != -1;
     }
 
     /**
-     * 获取下一个字节值。
-     * 如果缓存中没有值，则先调用 hasNextByteValue() 确保有值。
-     * 获取后会验证获取的值是否与预期一致，如果不一致抛出异常。
+     * 获取下一个字节值并移动指针。
      *
      * @return 下一个字节值
      * @throws NoSuchElementException 如果没有更多字节值可用
      */
     @Override
     public final byte nextByteValue() {
-        int result = cached;
-        if (result == -1) {
-            if (!this.hasNextByteValue()) {
-                throw new NoSuchElementException("There is no next element");
-            }
-            result = cached;
+        ByteBuffer buffer = this.buffer;
+        if (buffer.hasRemaining()) {
+            return buffer.get();
         }
-        cached = -1;
         int value = this.pop();
-        if (value != result) {
-            throw new RuntimeException("Got the wrong value");
+        if (value == -1) {
+            throw new NoSuchElementException("There is no next element");
         }
-        return (byte) result;
+        return (byte) value;
     }
 
     /**
@@ -99,7 +317,7 @@ public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator
     /**
      * 查看当前字节值（默认偏移量为 0）。
      *
-     * @return 当前偏移量为 0 的字节值
+     * @return 当前偏移量为 0 的字节值（范围为 0 到 255），如果到达流末尾则返回 -1
      */
     public final int peek() {
         return this.peek(0);
@@ -109,7 +327,7 @@ public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator
      * 查看指定偏移量处的字节值而不移动指针。
      *
      * @param offset 偏移量
-     * @return 指定偏移量处的字节值
+     * @return 指定偏移量处的字节值（范围为 0 到 255），如果到达流末尾则返回 -1
      */
     public final int peek(int offset) {
         return this.get(offset, false);
@@ -118,7 +336,7 @@ public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator
     /**
      * 弹出当前字节值（默认偏移量为 0）。
      *
-     * @return 当前偏移量为 0 的字节值
+     * @return 当前偏移量为 0 的字节值（范围为 0 到 255），如果到达流末尾则返回 -1
      */
     public final int pop() {
         return this.pop(0);
@@ -128,25 +346,856 @@ public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator
      * 弹出指定偏移量处的字节值并移动指针。
      *
      * @param offset 偏移量
-     * @return 指定偏移量处的字节值
+     * @return 指定偏移量处的字节值（范围为 0 到 255），如果到达流末尾则返回 -1
      */
     public final int pop(int offset) {
         return this.get(offset, true);
     }
 
+    /**
+     * 以非阻塞方式查看当前字节值（默认偏移量为 0）。
+     *
+     * @return 当前偏移量为 0 的字节值（范围为 0 到 255），到达流末尾时返回 -1，暂时没有可用数据时返回 {@link #WOULD_BLOCK}
+     * @see #tryPeek(int)
+     */
+    public final int tryPeek() {
+        return this.tryPeek(0);
+    }
+
+    /**
+     * 以非阻塞方式查看指定偏移量处的字节值而不移动指针。
+     * 内部缓冲区中的字节不足时通过 {@link #tryLoad(ByteBuffer)} 填充，数据源暂时没有可用的数据时立即返回 {@link #WOULD_BLOCK}，
+     * 此时可以等待数据源可读（例如通过 {@link java.nio.channels.Selector}）后再次调用。
+     *
+     * @param offset 偏移量
+     * @return 指定偏移量处的字节值（范围为 0 到 255），到达流末尾时返回 -1，暂时没有可用数据时返回 {@link #WOULD_BLOCK}
+     */
+    public final int tryPeek(int offset) {
+        return this.get(offset, false, true);
+    }
+
+    /**
+     * 以非阻塞方式弹出当前字节值（默认偏移量为 0）。
+     *
+     * @return 当前偏移量为 0 的字节值（范围为 0 到 255），到达流末尾时返回 -1，暂时没有可用数据时返回 {@link #WOULD_BLOCK}
+     * @see #tryPop(int)
+     */
+    public final int tryPop() {
+        return this.tryPop(0);
+    }
+
+    /**
+     * 以非阻塞方式弹出指定偏移量处的字节值并移动指针。返回 {@link #WOULD_BLOCK} 时不移动指针。
+     *
+     * @param offset 偏移量
+     * @return 指定偏移量处的字节值（范围为 0 到 255），到达流末尾时返回 -1，暂时没有可用数据时返回 {@link #WOULD_BLOCK}
+     * @see #tryPeek(int)
+     */
+    public final int tryPop(int offset) {
+        return this.get(offset, true, true);
+    }
+
+    /**
+     * 按指定字节序查看当前位置开始的 {@code short} 值而不移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的短整型值
+     * @throws IllegalArgumentException 如果缓冲区容量小于 2
+     * @throws NoSuchElementException   如果剩余字节不足
+     */
+    public final short peekShort(ByteOrder order) {
+        Objects.requireNonNull(order);
+        int index = this.require(Short.BYTES, false);
+        short value = this.buffer.getShort(index);
+        return order == ByteOrder.BIG_ENDIAN ? value : Short.reverseBytes(value);
+    }
+
+    /**
+     * 按指定字节序弹出当前位置开始的 {@code short} 值并移动指针。
+     * 缓冲区容量小于 2 时逐个字节组装。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的短整型值
+     * @throws NoSuchElementException 如果剩余字节不足
+     */
+    public final short popShort(ByteOrder order) {
+        Objects.requireNonNull(order);
+        int index = this.require(Short.BYTES, true);
+        short value = index < 0 ? (short) this.assemble(Short.BYTES) : this.buffer.getShort(index);
+        return order == ByteOrder.BIG_ENDIAN ? value : Short.reverseBytes(value);
+    }
+
+    /**
+     * 按指定字节序查看当前位置开始的 {@code int} 值而不移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的整型值
+     * @throws IllegalArgumentException 如果缓冲区容量小于 4
+     * @throws NoSuchElementException   如果剩余字节不足
+     */
+    public final int peekInt(ByteOrder order) {
+        Objects.requireNonNull(order);
+        int index = this.require(Integer.BYTES, false);
+        int value = this.buffer.getInt(index);
+        return order == ByteOrder.BIG_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    /**
+     * 按指定字节序弹出当前位置开始的 {@code int} 值并移动指针。
+     * 缓冲区容量小于 4 时逐个字节组装。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的整型值
+     * @throws NoSuchElementException 如果剩余字节不足
+     */
+    public final int popInt(ByteOrder order) {
+        Objects.requireNonNull(order);
+        int index = this.require(Integer.BYTES, true);
+        int value = index < 0 ? (int) this.assemble(Integer.BYTES) : this.buffer.getInt(index);
+        return order == ByteOrder.BIG_ENDIAN ? value : Integer.reverseBytes(value);
+    }
+
+    /**
+     * 按指定字节序查看当前位置开始的 {@code long} 值而不移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的长整型值
+     * @throws IllegalArgumentException 如果缓冲区容量小于 8
+     * @throws NoSuchElementException   如果剩余字节不足
+     */
+    public final long peekLong(ByteOrder order) {
+        Objects.requireNonNull(order);
+        int index = this.require(Long.BYTES, false);
+        long value = this.buffer.getLong(index);
+        return order == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    /**
+     * 按指定字节序弹出当前位置开始的 {@code long} 值并移动指针。
+     * 缓冲区容量小于 8 时逐个字节组装。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的长整型值
+     * @throws NoSuchElementException 如果剩余字节不足
+     */
+    public final long popLong(ByteOrder order) {
+        Objects.requireNonNull(order);
+        int index = this.require(Long.BYTES, true);
+        long value = index < 0 ? this.assemble(Long.BYTES) : this.buffer.getLong(index);
+        return order == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    /**
+     * 按指定字节序查看当前位置开始的 {@code float} 值而不移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的单精度浮点值
+     * @throws IllegalArgumentException 如果缓冲区容量小于 4
+     * @throws NoSuchElementException   如果剩余字节不足
+     */
+    public final float peekFloat(ByteOrder order) {
+        return Float.intBitsToFloat(this.peekInt(order));
+    }
+
+    /**
+     * 按指定字节序弹出当前位置开始的 {@code float} 值并移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的单精度浮点值
+     * @throws NoSuchElementException 如果剩余字节不足
+     */
+    public final float popFloat(ByteOrder order) {
+        return Float.intBitsToFloat(this.popInt(order));
+    }
+
+    /**
+     * 按指定字节序查看当前位置开始的 {@code double} 值而不移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的双精度浮点值
+     * @throws IllegalArgumentException 如果缓冲区容量小于 8
+     * @throws NoSuchElementException   如果剩余字节不足
+     */
+    public final double peekDouble(ByteOrder order) {
+        return Double.longBitsToDouble(this.peekLong(order));
+    }
+
+    /**
+     * 按指定字节序弹出当前位置开始的 {@code double} 值并移动指针。
+     *
+     * @param order 字节序，不能为 null
+     * @return 当前位置开始的双精度浮点值
+     * @throws NoSuchElementException 如果剩余字节不足
+     */
+    public final double popDouble(ByteOrder order) {
+        return Double.longBitsToDouble(this.popLong(order));
+    }
+
+    /**
+     * 批量读取字节到指定数组中，并移动指针。
+     * 优先直接从内部缓冲区复制数据；只有当内部缓冲区为空时才会调用 {@link #load(ByteBuffer)} 重新填充。
+     * 因此单次调用读取的字节数可能少于 {@code len}。
+     *
+     * @param dst 目标字节数组
+     * @param off 目标数组的起始偏移量
+     * @param len 最多读取的字节数
+     * @return 实际读取的字节数，如果已到达流末尾则返回 -1（{@code len} 为 0 时返回 0）
+     * @throws IndexOutOfBoundsException 如果 off 或 len 超出数组范围
+     */
+    public final int read(byte[] dst, int off, int len) {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        if (len == 0) return 0;
+        if (!buffer.hasRemaining() && !fill(1)) {
+            return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(dst, off, count);
+        return count;
+    }
+
+    /**
+     * 批量读取字节到指定的 ByteBuffer 中，并移动指针。
+     * 优先直接从内部缓冲区复制数据；只有当内部缓冲区为空时才会调用 {@link #load(ByteBuffer)} 重新填充。
+     * 因此单次调用读取的字节数可能少于 {@code dst.remaining()}。
+     *
+     * @param dst 目标缓冲区
+     * @return 实际读取的字节数，如果已到达流末尾则返回 -1（{@code dst} 没有剩余空间时返回 0）
+     */
+    public final int read(ByteBuffer dst) {
+        if (!dst.hasRemaining()) return 0;
+        if (!buffer.hasRemaining() && !fill(1)) {
+            return -1;
+        }
+        int count = Math.min(dst.remaining(), buffer.remaining());
+        int position = buffer.position();
+        dst.put(buffer.slice(position, count));
+        buffer.position(position + count);
+        return count;
+    }
+
+    /**
+     * 读取字节直到填满整个数组。
+     *
+     * @param dst 目标字节数组
+     * @throws NoSuchElementException 如果在填满数组之前到达流末尾
+     */
+    public final void readFully(byte[] dst) {
+        this.readFully(dst, 0, dst.length);
+    }
+
+    /**
+     * 读取字节直到填满数组的指定区域。
+     *
+     * @param dst 目标字节数组
+     * @param off 目标数组的起始偏移量
+     * @param len 需要读取的字节数
+     * @throws IndexOutOfBoundsException 如果 off 或 len 超出数组范围
+     * @throws NoSuchElementException    如果在读取 len 个字节之前到达流末尾
+     */
+    public final void readFully(byte[] dst, int off, int len) {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int read = this.read(dst, off, len);
+            if (read < 0) {
+                throw new NoSuchElementException("Reached the end before reading " + len + " more bytes");
+            }
+            off += read;
+            len -= read;
+        }
+    }
+
+    /**
+     * 读取字节直到填满指定 ByteBuffer 的剩余空间。
+     *
+     * @param dst 目标缓冲区
+     * @throws NoSuchElementException 如果在填满缓冲区之前到达流末尾
+     */
+    public final void readFully(ByteBuffer dst) {
+        while (dst.hasRemaining()) {
+            if (this.read(dst) < 0) {
+                throw new NoSuchElementException("Reached the end before reading " + dst.remaining() + " more bytes");
+            }
+        }
+    }
+
+    /**
+     * 跳过指定数量的字节。先丢弃内部缓冲区中已加载的字节，
+     * 然后通过 {@link #skipSource(long)} 直接在数据源中跳过，数据源不支持时才加载并丢弃剩余需要跳过的字节。
+     * 存在有效的标记且跳过后仍在标记的读取上限以内时，跳过的字节会保留在内部缓冲区中以便 {@link #reset()}。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数，只有到达流末尾时才会少于 n（n 不大于 0 时返回 0）
+     */
+    public final long skip(long n) {
+        if (n <= 0) return 0;
+        this.ensureOpen();
+        ByteBuffer buffer = this.buffer;
+        int buffered = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + buffered);
+        long skipped = buffered;
+        if (skipped < n && mark >= 0 && this.position() + (n - skipped) - mark > markLimit) {
+            this.mark = -1;
+        }
+        if (skipped < n && !view && mark < 0 && checksums == null) {
+            long count;
+            try {
+                count = skipSource(n - skipped);
+            } catch (Exception e) {
+                throw new RuntimeException("Error to skip byte data", e);
+            }
+            if (count > 0) {
+                this.discard(count);
+                skipped += count;
+            }
+        }
+        while (skipped < n && fill(1)) {
+            buffer = this.buffer;
+            int count = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    /**
+     * 查找指定字节值第一次出现的位置，不移动指针。
+     * 查找范围限于内部缓冲区能够容纳的字节，即当前位置之后 bufferSize 个字节以内。
+     *
+     * @param value 要查找的字节值
+     * @return 相对于当前位置的偏移量，在查找范围内没有找到时返回 -1
+     */
+    public final int indexOf(byte value) {
+        return this.indexOf(value, 0);
+    }
+
+    /**
+     * 查找指定字节序列第一次出现的位置，不移动指针。
+     * 查找范围限于内部缓冲区能够容纳的字节，即匹配的字节序列必须完整地位于当前位置之后 bufferSize 个字节以内。
+     * 字节序列比剩余的数据更长时不可能匹配，直接返回 -1。
+     *
+     * @param pattern 要查找的字节序列
+     * @return 相对于当前位置的偏移量，在查找范围内没有找到时返回 -1（{@code pattern} 为空时返回 0）
+     * @throws IllegalArgumentException 如果字节序列的长度超过内部缓冲区的容量，而剩余的数据至少与它一样长
+     */
+    public final int indexOf(byte[] pattern) {
+        int length = pattern.length;
+        if (length == 0) return 0;
+        if (length > this.buffer.capacity()) {
+            this.ensureOpen();
+            // 视图模式下缓冲区容量就是数据长度；其他情况下剩余数据不足一个缓冲区时也不可能匹配
+            if (view) return -1;
+            long remaining = this.remaining();
+            if (remaining >= 0 ? remaining < length : !fill(this.buffer.capacity())) return -1;
+            throw new IllegalArgumentException("bufferSize must be at least " + length + " to search " + length + " bytes");
+        }
+        int offset = 0;
+        while ((offset = this.indexOf(pattern[0], offset)) >= 0) {
+            ByteBuffer buffer = this.buffer;
+            if (buffer.remaining() < offset + length) {
+                if (offset + length > buffer.capacity() || !fill(offset + length)) return -1;
+                buffer = this.buffer;
+            }
+            if (ByteSearch.matches(buffer, buffer.position() + offset, pattern)) {
+                return offset;
+            }
+            offset++;
+        }
+        return -1;
+    }
+
+    /**
+     * 跳过字节直到遇到指定的字节值，该字节值本身不会被跳过。
+     * 与 {@link #indexOf(byte)} 不同，跳过的字节数不受内部缓冲区容量的限制。
+     *
+     * @param value 要查找的字节值
+     * @return 跳过的字节数，如果直到流末尾都没有遇到该字节值则返回 -1，此时所有剩余字节都已被跳过
+     */
+    public final long skipUntil(byte value) {
+        long skipped = 0;
+        while (true) {
+            ByteBuffer buffer = this.buffer;
+            int position = buffer.position();
+            int found = ByteSearch.indexOf(buffer, position, buffer.limit(), value);
+            if (found >= 0) {
+                buffer.position(found);
+                return skipped + found - position;
+            }
+            skipped += buffer.remaining();
+            buffer.position(buffer.limit());
+            if (!fill(1)) return -1;
+        }
+    }
+
+    /**
+     * 读取字节到指定的 ByteBuffer 中，直到遇到指定的字节值或 {@code dst} 被填满，该字节值本身不会被读取。
+     * 读取结束后可以通过 {@link #peek()} 判断是否是因为遇到了该字节值而停止。
+     *
+     * @param value 要查找的字节值
+     * @param dst   目标缓冲区
+     * @return 实际读取的字节数，如果在读取任何字节之前已到达流末尾则返回 -1
+     */
+    public final int readUntil(byte value, ByteBuffer dst) {
+        int total = 0;
+        while (dst.hasRemaining()) {
+            ByteBuffer buffer = this.buffer;
+            if (!buffer.hasRemaining()) {
+                if (!fill(1)) return total == 0 ? -1 : total;
+                buffer = this.buffer;
+            }
+            int position = buffer.position();
+            int limit = position + Math.min(buffer.remaining(), dst.remaining());
+            int found = ByteSearch.indexOf(buffer, position, limit, value);
+            int end = found >= 0 ? found : limit;
+            int count = end - position;
+            dst.put(dst.position(), buffer, position, count);
+            dst.position(dst.position() + count);
+            buffer.position(end);
+            total += count;
+            if (found >= 0) break;
+        }
+        return total;
+    }
+
+    /**
+     * 返回按指定分隔符切分剩余字节的记录迭代器，记录不包含分隔符。
+     *
+     * @param delimiter 分隔符
+     * @return 记录迭代器
+     * @see ByteRecordIterator
+     */
+    public final ByteRecordIterator records(byte delimiter) {
+        return new ByteRecordIterator(this, delimiter, false);
+    }
+
+    /**
+     * 返回按行切分剩余字节的记录迭代器，行以 {@code \n} 或 {@code \r\n} 结尾，记录不包含行尾符。
+     *
+     * @return 记录迭代器
+     * @see ByteRecordIterator
+     */
+    public final ByteRecordIterator lines() {
+        return new ByteRecordIterator(this, (byte) '\n', true);
+    }
+
+    /**
+     * 返回内部缓冲区中从当前位置开始的指定长度字节的只读切片，并将指针移动到这些字节以及随后 skip 个字节之后。
+     * 调用方需保证这些字节已加载到内部缓冲区中。
+     *
+     * @param length 切片的长度
+     * @param skip   切片之后额外跳过的字节数
+     * @return 只读切片
+     */
+    final ByteBuffer slice(int length, int skip) {
+        ByteBuffer buffer = this.buffer;
+        int position = buffer.position();
+        buffer.position(position + length + skip);
+        return buffer.slice(position, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * 从指定偏移量开始查找指定字节值第一次出现的位置，不移动指针。
+     * 每次只检查新加载的字节，内部缓冲区已满或到达流末尾时停止。
+     *
+     * @param value  要查找的字节值
+     * @param offset 开始查找的偏移量，相对于当前位置
+     * @return 相对于当前位置的偏移量，在查找范围内没有找到时返回 -1
+     */
+    private int indexOf(byte value, int offset) {
+        int scanned = offset;
+        while (true) {
+            ByteBuffer buffer = this.buffer;
+            int position = buffer.position();
+            if (scanned < buffer.remaining()) {
+                int found = ByteSearch.indexOf(buffer, position + scanned, buffer.limit(), value);
+                if (found >= 0) return found - position;
+                scanned = buffer.remaining();
+            }
+            if (scanned >= buffer.capacity()) {
+                this.ensureOpen();
+                return -1;
+            }
+            if (!fill(scanned + 1)) return -1;
+        }
+    }
+
     /**
      * 将所有剩余的字节值转换为字节数组。
+     * 剩余字节数已知时直接按该长度创建数组并批量读取，否则通过 {@link #transferTo(OutputStream)} 写入 ByteArrayOutputStream。
      *
      * @return 包含所有剩余字节值的字节数组
+     * @throws OutOfMemoryError 如果剩余字节数超过数组的最大长度
      */
     public final byte[] toContent() {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        while (hasNextByteValue()) {
-            result.write(nextByteValue());
+        long remaining = this.remaining();
+        if (remaining > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        if (remaining >= 0) {
+            byte[] result = new byte[(int) remaining];
+            this.readFully(result);
+            return result;
         }
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        this.transferTo(result);
         return result.toByteArray();
     }
 
+    /**
+     * 将所有剩余的字节写入指定的输出流。
+     * 输出流为 {@link FileOutputStream} 时直接写入其通道，否则通过 {@link Channels#newChannel(OutputStream)} 写入。
+     *
+     * @param out 目标输出流
+     * @return 写入的字节数
+     * @see #transferTo(WritableByteChannel)
+     */
+    public final long transferTo(OutputStream out) {
+        Objects.requireNonNull(out);
+        return this.transferTo(out instanceof FileOutputStream ? ((FileOutputStream) out).getChannel() : Channels.newChannel(out));
+    }
+
+    /**
+     * 将所有剩余的字节写入指定的通道。
+     * 先批量写出内部缓冲区中已加载的字节，然后通过 {@link #transferSource(WritableByteChannel)} 由数据源直接传输，
+     * 例如文件数据源可以使用 {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)} 由内核完成零拷贝传输；
+     * 数据源不支持或未传输完时，再通过内部缓冲区逐段加载并写出剩余的字节。调用后已有的标记失效。
+     *
+     * @param out 目标通道
+     * @return 写入的字节数
+     */
+    public final long transferTo(WritableByteChannel out) {
+        Objects.requireNonNull(out);
+        this.ensureOpen();
+        this.mark = -1;
+        try {
+            long total = this.drain(out);
+            if (!view && checksums == null) {
+                long count = transferSource(out);
+                if (count > 0) {
+                    this.discard(count);
+                    total += count;
+                }
+            }
+            while (fill(1)) {
+                total += this.drain(out);
+            }
+            return total;
+        } catch (IOException e) {
+            throw new RuntimeException("Error to transfer byte data", e);
+        }
+    }
+
+    /**
+     * 将内部缓冲区中已加载的字节全部写入指定的通道。
+     *
+     * @param out 目标通道
+     * @return 写入的字节数
+     * @throws IOException 如果写入过程中发生错误
+     */
+    private int drain(WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = this.buffer;
+        int count = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return count;
+    }
+
+    /**
+     * 以有符号字节值（-128 到 127）的形式返回剩余字节组成的流。
+     * 数据源支持随机访问时，流报告 SIZED 与 SUBSIZED 特性，并可以通过 {@link IntStream#parallel()} 并行处理，
+     * 各个区间通过独立的子加载器读取，子加载器在区间读完或流关闭时关闭。
+     * 与 {@link java.io.BufferedReader#lines()} 类似，终端操作执行后本加载器的读取位置是不确定的。
+     *
+     * @return 剩余字节组成的流
+     */
+    public final IntStream stream() {
+        return this.stream(true);
+    }
+
+    /**
+     * 以无符号字节值（0 到 255）的形式返回剩余字节组成的流。
+     * 划分与并行处理的行为与 {@link #stream()} 相同。
+     *
+     * @return 剩余字节组成的流
+     */
+    public final IntStream unsignedStream() {
+        return this.stream(false);
+    }
+
+    /**
+     * 将剩余字节作为 {@link Flow.Publisher} 发布，每个元素是一个包含 chunkSize 个字节的独立堆缓冲区，只有最后一个元素可能更少。
+     * 读取与发布在新的虚拟线程中进行，只在订阅者请求时读取，详见 {@link #publisher(int, Executor)}。
+     *
+     * @param chunkSize 每个元素包含的字节数，必须大于 0
+     * @return 只接受一个订阅者的发布者
+     * @throws IllegalArgumentException 如果 chunkSize 小于等于 0
+     */
+    public final Flow.Publisher<ByteBuffer> publisher(int chunkSize) {
+        return this.publisher(chunkSize, task -> Thread.ofVirtual().name("byte-loader-publisher").start(task));
+    }
+
+    /**
+     * 将剩余字节作为 {@link Flow.Publisher} 发布，每个元素是一个包含 chunkSize 个字节的独立堆缓冲区，只有最后一个元素可能更少，订阅者可以任意保留。
+     * 只有订阅者请求时才从本加载器中读取，读取与发布在指定的执行器中进行。
+     * 发布者只接受一个订阅者，并接管本加载器：发布结束、出错或订阅被取消时关闭本加载器。
+     *
+     * @param chunkSize 每个元素包含的字节数，必须大于 0
+     * @param executor  执行读取与发布的执行器，不能为 null
+     * @return 只接受一个订阅者的发布者
+     * @throws IllegalArgumentException 如果 chunkSize 小于等于 0
+     */
+    public final Flow.Publisher<ByteBuffer> publisher(int chunkSize, Executor executor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        return new ByteLoaderPublisher(this, chunkSize, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * 返回剩余字节组成的流。
+     *
+     * @param signed 是否输出有符号的字节值
+     * @return 剩余字节组成的流
+     */
+    private IntStream stream(boolean signed) {
+        ByteLoaderSpliterator spliterator = new ByteLoaderSpliterator(this, signed);
+        return StreamSupport.intStream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * 获取当前的读取位置，即从加载器创建以来已经读取、跳过或通过 {@link #seek(long)} 越过的字节数。
+     *
+     * @return 当前的读取位置
+     */
+    public final long position() {
+        return loaded - buffer.remaining();
+    }
+
+    /**
+     * 标记当前的读取位置，之后可以通过 {@link #reset()} 回到该位置。
+     * 从标记位置开始的字节会一直保留在内部缓冲区中，必要时扩容内部缓冲区，
+     * 直到从标记位置起读取的字节数超过 readLimit 后的下一次填充时标记才会失效。
+     *
+     * @param readLimit 标记失效前最多可以读取的字节数
+     * @throws IllegalArgumentException 如果 readLimit 小于 0
+     */
+    public final void mark(int readLimit) {
+        if (readLimit < 0) {
+            throw new IllegalArgumentException("readLimit must not be negative");
+        }
+        this.mark = this.position();
+        this.markLimit = readLimit;
+    }
+
+    /**
+     * 回到通过 {@link #mark(int)} 标记的读取位置，标记在回到该位置后仍然有效。
+     *
+     * @throws IllegalStateException 如果没有标记或标记已经失效
+     */
+    public final void reset() {
+        long mark = this.mark;
+        if (mark < 0) {
+            throw new IllegalStateException("Mark invalid");
+        }
+        ByteBuffer buffer = this.buffer;
+        buffer.position((int) (mark - (loaded - buffer.limit())));
+    }
+
+    /**
+     * 移动到指定的读取位置。目标位置的字节仍在内部缓冲区中时直接移动指针，
+     * 否则通过 {@link #seekSource(long)} 移动数据源的读取位置并清空内部缓冲区，此时已有的标记失效。
+     *
+     * @param position 目标读取位置
+     * @throws IllegalArgumentException      如果目标位置小于 0 或超过数据源的长度
+     * @throws UnsupportedOperationException 如果目标位置不在内部缓冲区中，且数据源不支持随机访问或已附加校验和
+     */
+    public final void seek(long position) {
+        this.ensureOpen();
+        long length = sourceLength();
+        if (position < 0 || (length >= 0 && position > length)) {
+            throw new IllegalArgumentException("position out of range at [0," + (length >= 0 ? length : "∞") + "]");
+        }
+        ByteBuffer buffer = this.buffer;
+        long start = loaded - buffer.limit();
+        if (position >= start && position <= loaded) {
+            buffer.position((int) (position - start));
+            return;
+        }
+        long aligned = position - position % sourceAlignment();
+        boolean moved;
+        try {
+            moved = !view && checksums == null && seekSource(aligned);
+        } catch (Exception e) {
+            throw new RuntimeException("Error to seek byte data", e);
+        }
+        if (!moved) {
+            throw new UnsupportedOperationException(getClass().getName() + " does not support seek");
+        }
+        this.mark = -1;
+        this.loaded = aligned;
+        buffer.position(0).limit(0);
+        this.skip(position - aligned);
+    }
+
+    /**
+     * 获取剩余未读取的字节数，包括已加载到内部缓冲区中的字节。
+     *
+     * @return 剩余的字节数，如果数据源的长度未知则返回 -1
+     */
+    public final long remaining() {
+        long length = sourceLength();
+        if (length < 0) return -1;
+        return length - sourcePosition() + buffer.remaining();
+    }
+
+    /**
+     * 将剩余未读取的字节按顺序划分为最多 parts 个互不重叠的区间，并为每个区间创建一个独立的子加载器。
+     * 每个子加载器拥有自己的内部缓冲区，可以在不同的线程中并行读取；本加载器的读取位置不受影响。
+     * 只有数据源支持随机访问（即 {@link #remaining()} 不为 -1）时才能划分。
+     * 调用方负责关闭返回的子加载器。
+     *
+     * @param parts 最多划分的区间数量，必须大于 0
+     * @return 按数据顺序排列的子加载器，没有剩余字节时返回空列表
+     * @throws IllegalArgumentException      如果 parts 小于等于 0
+     * @throws UnsupportedOperationException 如果数据源不支持划分
+     */
+    public final List<ByteLoader> split(int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("parts must be greater than 0");
+        }
+        long to = sourceLength();
+        if (to < 0) {
+            throw new UnsupportedOperationException(getClass().getName() + " does not support split");
+        }
+        long from = sourcePosition() - buffer.remaining();
+        long total = to - from;
+        int alignment = sourceAlignment();
+        List<ByteLoader> result = new ArrayList<>(parts);
+        try {
+            long start = from;
+            for (int i = 1; i <= parts && start < to; i++) {
+                long end = i == parts ? to : from + total / parts * i + total % parts * i / parts;
+                end -= end % alignment;
+                if (end > start) {
+                    result.add(splitRange(start, end));
+                    start = end;
+                }
+            }
+        } catch (RuntimeException e) {
+            for (ByteLoader loader : result) {
+                try {
+                    loader.close();
+                } catch (Exception suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 为数据源中指定的字节区间创建一个独立的子加载器。
+     * 区间起点不满足 {@link #sourceAlignment()} 时，从对齐的位置创建子加载器并丢弃多余的前导字节。
+     *
+     * @param from 区间起点（包含），相对于本加载器数据源的起点
+     * @param to   区间终点（不包含），必须满足对齐要求或等于数据源长度
+     * @return 新的子加载器
+     */
+    final ByteLoader splitRange(long from, long to) {
+        long aligned = from - from % sourceAlignment();
+        ByteLoader loader = createSplit(aligned, to);
+        if (from > aligned) {
+            loader.pop((int) (from - aligned) - 1);
+        }
+        return loader;
+    }
+
+    /**
+     * 获取内部缓冲区的大小。
+     *
+     * @return 内部缓冲区的容量
+     */
+    protected final int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 获取数据源的总字节数，从加载器创建时的位置起算。
+     * 支持随机访问的实现类应覆盖此方法，同时覆盖 {@link #sourcePosition()} 与 {@link #createSplit(long, long)}。
+     *
+     * @return 数据源的总字节数，长度未知时返回 -1
+     */
+    protected long sourceLength() {
+        return -1;
+    }
+
+    /**
+     * 获取已经通过 {@link #load(ByteBuffer)} 从数据源加载的字节数。
+     *
+     * @return 已加载的字节数，长度未知时返回 -1
+     */
+    protected long sourcePosition() {
+        return -1;
+    }
+
+    /**
+     * 获取划分数据源时区间边界需要满足的对齐字节数，例如 long 数组为 8。
+     *
+     * @return 对齐字节数，必须大于 0
+     */
+    protected int sourceAlignment() {
+        return 1;
+    }
+
+    /**
+     * 为数据源中指定的字节区间创建一个新的、独立的加载器，新加载器使用相同的缓冲区大小。
+     *
+     * @param from 区间起点（包含），满足 {@link #sourceAlignment()} 的对齐要求
+     * @param to   区间终点（不包含），满足对齐要求或等于数据源长度
+     * @return 新的加载器
+     * @throws UnsupportedOperationException 如果数据源不支持划分
+     */
+    protected ByteLoader createSplit(long from, long to) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support split");
+    }
+
+    /**
+     * 直接在数据源中跳过尚未加载的字节，供 {@link #skip(long)} 在内部缓冲区为空后调用。
+     * 默认实现返回 0，表示不支持直接跳过，剩余字节会通过加载并丢弃的方式跳过。
+     *
+     * @param n 要跳过的字节数，大于 0
+     * @return 实际跳过的字节数，不大于 n
+     * @throws Exception 如果跳过过程中发生错误
+     */
+    protected long skipSource(long n) throws Exception {
+        return 0;
+    }
+
+    /**
+     * 将数据源中尚未加载的字节直接传输到指定的通道，供 {@link #transferTo(WritableByteChannel)} 在写出内部缓冲区后调用。
+     * 默认实现返回 0，表示不支持直接传输，剩余字节会通过内部缓冲区写出；只传输了部分字节时同样如此。
+     *
+     * @param target 目标通道
+     * @return 实际传输的字节数
+     * @throws IOException 如果传输过程中发生错误
+     */
+    protected long transferSource(WritableByteChannel target) throws IOException {
+        return 0;
+    }
+
+    /**
+     * 将数据源的读取位置移动到指定位置，供 {@link #seek(long)} 在目标位置不在内部缓冲区中时调用。
+     * 之后的 {@link #load(ByteBuffer)} 应从该位置开始加载。默认实现返回 false，表示不支持随机访问。
+     *
+     * @param position 目标位置，相对于加载器创建时数据源的读取位置，已按 {@link #sourceAlignment()} 对齐
+     * @return 是否已经移动了数据源的读取位置
+     * @throws Exception 如果移动过程中发生错误
+     */
+    protected boolean seekSource(long position) throws Exception {
+        return false;
+    }
+
     /**
      * 获取最小缓冲区大小。
      *
@@ -158,66 +1207,242 @@ public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator
 
     /**
      * 获取指定偏移量处的字节值。
+     * 直接按绝对位置读取内部缓冲区，只有当缓冲区中的字节不足时才重新填充，
+     * 因此查看和弹出操作的开销与偏移量无关。
      *
      * @param value   要获取的字节的位置
      * @param consume 是否消费该字节（即是否移动指针）
-     * @return 成功获取到的字节值，如果到达流末尾则返回 -1
+     * @return 成功获取到的字节值（范围为 0 到 255），如果到达流末尾则返回 -1
      */
     protected final int get(final int value, final boolean consume) {
-        if (value < 0 || value >= buffer.capacity()) {
+        return this.get(value, consume, false);
+    }
+
+    /**
+     * 获取指定偏移量处的字节值，可选择是否消费该字节以及是否以非阻塞方式填充。
+     *
+     * @param value       偏移量
+     * @param consume     是否消费该字节（即是否移动指针）
+     * @param nonBlocking 是否以非阻塞方式填充
+     * @return 指定偏移量处的字节值（范围为 0 到 255），到达流末尾时返回 -1，非阻塞填充时暂时没有可用数据返回 {@link #WOULD_BLOCK}
+     * @throws IllegalArgumentException 如果偏移量超出缓冲区范围
+     */
+    private int get(final int value, final boolean consume, final boolean nonBlocking) {
+        ByteBuffer buffer = this.buffer;
+        // 视图模式下缓冲区容量就是数据长度，超出范围的偏移量表示到达流末尾
+        if (value < 0 || (!view && value >= buffer.capacity())) {
+            this.ensureOpen();
             throw new IllegalArgumentException("offset out of range at [0," + buffer.capacity() + ")");
         }
-        tag(true, consume);
-        int data, count = 0;
-        try {
-            while (count <= value) {
-                // 判断是否有剩余字符可读
-                if (!buffer.hasRemaining()) {
-                    // 缓冲区无足够空间，重新填充数据
-                    tag(false, consume);
-                    buffer.compact();
-                    load(buffer);
-                    buffer.flip();
-                    if (!consume) {
-                        buffer.mark();
-                    }
-                    buffer.position(count);
-                    if (!buffer.hasRemaining()) {
-                        return -1;
-                    }
+        if (buffer.remaining() <= value) {
+            if (view || !fill(value + 1, nonBlocking)) {
+                if (blocked) return WOULD_BLOCK;
+                if (consume) {
+                    this.buffer.position(this.buffer.limit());
                 }
-                data = buffer.get();
-                if (count == value) {
-                    return data;
-                }
-                count += 1;
+                return -1;
             }
-            return -1;
-        } catch (Exception e) {
-            throw new RuntimeException("Error to load char data", e);
-        } finally {
-            // 操作完成后恢复位置并根据 consume 决定是否消费字符
-            tag(false, consume);
+            buffer = this.buffer;
+        }
+        int index = buffer.position() + value;
+        if (consume) {
+            buffer.position(index + 1);
+        } else if (listener != null) {
+            listener.onPeek(this, value + 1);
         }
+        return buffer.get(index) & 0xFF;
     }
 
     /**
-     * 标记或重置缓冲区的位置。
+     * 确保内部缓冲区中至少有 size 个未读字节，并返回这些字节在缓冲区中的起始位置。
      *
-     * @param mark    是否标记当前位置
-     * @param consume 是否消费该字节（即是否移动指针）
+     * @param size    需要的字节数
+     * @param consume 是否消费这些字节（即是否移动指针）
+     * @return 这些字节在缓冲区中的起始位置；如果需要消费且缓冲区容量小于 size，返回 -1 表示需要逐个字节组装
+     * @throws IllegalArgumentException 如果不消费且缓冲区容量小于 size
+     * @throws NoSuchElementException   如果剩余字节不足
      */
-    private void tag(boolean mark, boolean consume) {
+    private int require(int size, boolean consume) {
+        ByteBuffer buffer = this.buffer;
+        if (buffer.remaining() < size) {
+            if (size > buffer.capacity() && !view) {
+                this.ensureOpen();
+                if (consume) return -1;
+                throw new IllegalArgumentException("bufferSize must be at least " + size + " to peek " + size + " bytes");
+            }
+            if (!fill(size)) {
+                throw new NoSuchElementException("There are less than " + size + " bytes remaining");
+            }
+            buffer = this.buffer;
+        }
+        int index = buffer.position();
+        if (consume) {
+            buffer.position(index + size);
+        } else if (listener != null) {
+            listener.onPeek(this, size);
+        }
+        return index;
+    }
+
+    /**
+     * 按大端序逐个字节弹出并组装 size 个字节，用于缓冲区容量不足以一次容纳这些字节的情况。
+     *
+     * @param size 需要组装的字节数，不超过 8
+     * @return 组装得到的值
+     * @throws NoSuchElementException 如果剩余字节不足
+     */
+    private long assemble(int size) {
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            int data = this.pop();
+            if (data == -1) {
+                throw new NoSuchElementException("There are less than " + (size - i) + " bytes remaining");
+            }
+            value = (value << 8) | data;
+        }
+        return value;
+    }
+
+    /**
+     * 丢弃已读取的字节并重新填充内部缓冲区，直到缓冲区中至少有 required 个未读字节，
+     * 或者数据源暂时无法提供更多数据，或者缓冲区已满。
+     *
+     * @param required 需要的未读字节数，不能超过缓冲区容量
+     * @return 如果缓冲区中至少有 required 个未读字节返回 true，否则返回 false
+     */
+    private boolean fill(int required) {
+        return this.fill(required, false);
+    }
+
+    /**
+     * 丢弃已读取的字节并重新填充内部缓冲区，可选择以非阻塞方式通过 {@link #tryLoad(ByteBuffer)} 填充。
+     * 非阻塞填充因为数据源暂时没有可用的数据而结束时，{@link #blocked} 为 true。
+     *
+     * @param required    需要的未读字节数，不能超过缓冲区容量
+     * @param nonBlocking 是否以非阻塞方式填充
+     * @return 如果缓冲区中至少有 required 个未读字节返回 true，否则返回 false
+     */
+    private boolean fill(int required, boolean nonBlocking) {
+        ByteBuffer buffer = this.buffer;
+        this.ensureOpen();
+        this.blocked = false;
+        if (view) return buffer.remaining() >= required;
+        // 存在有效的标记时，从标记位置开始的字节需要保留在缓冲区中
+        int keep = 0;
+        if (mark >= 0) {
+            long marked = loaded - buffer.remaining() - mark;
+            if (marked > markLimit) {
+                this.mark = -1;
+            } else if (marked > 0) {
+                keep = (int) marked;
+                if (keep + required > buffer.capacity()) {
+                    buffer = this.grow(keep + required);
+                }
+            }
+        }
+        ByteLoaderListener listener = this.listener;
+        if (listener != null) {
+            this.reportConsumed(listener);
+        }
+        int start = buffer.position() - keep;
+        int from = buffer.limit() - start;
         try {
-            if (!consume) {
-                if (mark) {
-                    buffer.mark();
+            if (start == 0) {
+                // 没有可以丢弃的字节，直接切换为写入模式
+                buffer.position(buffer.limit()).limit(buffer.capacity());
+            } else {
+                buffer.position(start);
+                if (listener != null) {
+                    listener.onCompact(this, buffer.remaining());
+                }
+                buffer.compact();
+            }
+            int before;
+            do {
+                before = buffer.position();
+                ByteLoaderLoadEvent event = new ByteLoaderLoadEvent();
+                long time = listener != null ? System.nanoTime() : 0;
+                event.begin();
+                if (nonBlocking) {
+                    this.blocked = tryLoad(buffer) == 0;
                 } else {
-                    buffer.reset();
+                    load(buffer);
+                }
+                event.end();
+                int count = buffer.position() - before;
+                if (listener != null) {
+                    listener.onLoad(this, count, System.nanoTime() - time);
+                }
+                if (event.shouldCommit()) {
+                    event.loaderClass = getClass();
+                    event.requestedBytes = Math.max(0, keep + required - before);
+                    event.availableBytes = buffer.capacity() - before;
+                    event.loadedBytes = count;
+                    event.commit();
+                }
+            } while (buffer.position() < keep + required && buffer.position() > before && buffer.hasRemaining());
+        } catch (Exception e) {
+            throw new RuntimeException("Error to load byte data", e);
+        } finally {
+            int count = buffer.position() - from;
+            if (count > 0 && checksums != null) {
+                ByteBuffer region = buffer.slice(from, count);
+                for (ByteLoaderChecksum checksum : checksums) {
+                    checksum.update(region.clear());
                 }
             }
-        } catch (Exception ignored) {
+            loaded += count;
+            buffer.flip();
+            buffer.position(Math.min(keep, buffer.limit()));
+        }
+        if (listener != null) {
+            listener.onFill(this, buffer.limit(), buffer.capacity());
         }
+        return buffer.remaining() >= required;
+    }
+
+    /**
+     * 向监听器报告自上次报告以来读取位置前进的字节数。
+     *
+     * @param listener 监听器
+     */
+    private void reportConsumed(ByteLoaderListener listener) {
+        long position = this.position();
+        if (position > reported) {
+            listener.onConsume(this, position - reported);
+        }
+        this.reported = position;
+    }
+
+    /**
+     * 扩容内部缓冲区以保留标记区域，新的缓冲区从缓冲区池中借出，原缓冲区归还给缓冲区池。
+     * 原缓冲区中的字节与读取位置保持不变。
+     *
+     * @param size 至少需要的容量
+     * @return 扩容后的内部缓冲区
+     */
+    private ByteBuffer grow(int size) {
+        ByteBuffer buffer = this.buffer;
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(size, (long) buffer.capacity() * 2));
+        ByteBuffer pooled = pool.acquire(capacity);
+        ByteBuffer grown = pooled.clear().slice(0, capacity);
+        grown.put(0, buffer, 0, buffer.limit());
+        grown.limit(buffer.limit()).position(buffer.position());
+        ByteBuffer previous = this.pooled;
+        this.pooled = pooled;
+        this.buffer = grown;
+        pool.release(previous);
+        return grown;
+    }
+
+    /**
+     * 记录在数据源中直接越过的字节，此时内部缓冲区必须为空。清空内部缓冲区，使其与新的读取位置对应。
+     *
+     * @param count 直接越过的字节数
+     */
+    private void discard(long count) {
+        this.loaded += count;
+        this.buffer.position(0).limit(0);
     }
 
     /**
@@ -227,4 +1452,19 @@ public abstract class ByteLoader implements AutoCloseable, ByteSequenceIterator
      * @throws Exception 如果加载过程中发生错误
      */
     protected abstract void load(ByteBuffer buffer) throws Exception;
+
+    /**
+     * 以非阻塞方式从数据源加载字节数据到指定的缓冲区，供 {@link #tryPeek(int)} 与 {@link #tryPop(int)} 调用。
+     * 默认实现调用 {@link #load(ByteBuffer)}，没有加载任何字节时视为到达流末尾，即对于阻塞的数据源仍然会阻塞。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @return 加载的字节数，到达流末尾时返回 -1，数据源暂时没有可用的数据时返回 0
+     * @throws Exception 如果加载过程中发生错误
+     */
+    protected int tryLoad(ByteBuffer buffer) throws Exception {
+        int position = buffer.position();
+        load(buffer);
+        int count = buffer.position() - position;
+        return count > 0 ? count : -1;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.github.zhitron.byte_loader;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.zip.Checksum;
+
+/**
+ * ByteLoaderChecksum 在 {@link ByteLoader} 填充内部缓冲区时，对每段新加载的字节计算校验和或摘要，
+ * 通过 {@link ByteLoader#checksum(Checksum)} 或 {@link ByteLoader#checksum(MessageDigest)} 附加到加载器上。
+ * 新加载的字节以直接缓冲区的形式交给 {@link Checksum#update(ByteBuffer)} 或 {@link MessageDigest#update(ByteBuffer)}，
+ * 例如 {@link java.util.zip.CRC32C} 与 {@link java.util.zip.Adler32} 会直接在堆外内存上计算，不需要再次读取或复制数据。
+ * <p>
+ * 计算范围从附加时的读取位置开始，包括附加时内部缓冲区中尚未读取的字节以及之后加载的全部字节；
+ * 由于加载总是领先于读取，计算结果可能包含尚未读取的字节，读取到流末尾后即为剩余全部数据的校验和。
+ *
+ * @author zhitron
+ */
+public final class ByteLoaderChecksum {
+    /**
+     * 计算校验和的对象，计算摘要时为 null。
+     */
+    private final Checksum checksum;
+
+    /**
+     * 计算摘要的对象，计算校验和时为 null。
+     */
+    private final MessageDigest digest;
+
+    /**
+     * 已经计算的字节数。
+     */
+    private long length;
+
+    /**
+     * 构造一个新的 ByteLoaderChecksum 实例。
+     *
+     * @param checksum 计算校验和的对象
+     * @param digest   计算摘要的对象
+     */
+    ByteLoaderChecksum(Checksum checksum, MessageDigest digest) {
+        this.checksum = checksum;
+        this.digest = digest;
+    }
+
+    /**
+     * 使用指定区域中的剩余字节更新校验和或摘要，更新后该区域的位置移动到界限处。
+     *
+     * @param region 新加载的字节
+     */
+    void update(ByteBuffer region) {
+        length += region.remaining();
+        if (checksum != null) {
+            checksum.update(region);
+        } else {
+            digest.update(region);
+        }
+    }
+
+    /**
+     * 获取已经计算的字节数。
+     *
+     * @return 已经计算的字节数
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * 获取当前的校验和。
+     *
+     * @return 当前的校验和
+     * @throws UnsupportedOperationException 如果计算的是摘要
+     */
+    public long getValue() {
+        if (checksum == null) {
+            throw new UnsupportedOperationException("Use digest() for " + digest.getAlgorithm());
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * 完成摘要计算并返回结果，与 {@link MessageDigest#digest()} 一样，调用后摘要被重置。
+     * 通常在读取到流末尾后调用一次。
+     *
+     * @return 摘要的结果
+     * @throws UnsupportedOperationException 如果计算的是校验和
+     */
+    public byte[] digest() {
+        if (digest == null) {
+            throw new UnsupportedOperationException("Use getValue() for checksum");
+        }
+        return digest.digest();
+    }
+}
@@ -4,11 +4,16 @@ import com.github.zhitron.byte_loader.impl.*;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.CharBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
@@ -19,6 +24,12 @@ import java.util.stream.LongStream;
  * @author zhitron
  */
 public final class ByteLoaderFactory {
+    /**
+     * 使用内存映射方式加载文件的大小阈值，为 1 MB。
+     * 小于该大小的文件映射开销大于收益，仍然使用输入流加载。
+     */
+    public static final long MAPPED_FILE_THRESHOLD = 1L << 20;
+
     /**
      * 私有构造函数，防止实例化此类。
      * 抛出 AssertionError 防止通过反射等方式创建实例。
@@ -48,6 +59,30 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByCharArray(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用字符数组作为输入源的 ByteLoader 实例，指定字节序和缓冲区大小。
+     *
+     * @param input      输入的字符数组
+     * @param order      元素拆分为字节时使用的字节序
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(char[] input, ByteOrder order, int bufferSize) {
+        return new ByteLoaderByCharArray(input, order, bufferSize);
+    }
+
+    /**
+     * 创建一个使用字符数组作为输入源的 ByteLoader 实例，按指定字符集流式地编码，指定缓冲区大小。
+     *
+     * @param input      输入的字符数组
+     * @param charset    编码时使用的字符集
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(char[] input, Charset charset, int bufferSize) {
+        return new ByteLoaderByCharArray(input, charset, bufferSize);
+    }
+
     /**
      * 创建一个使用字节数组作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -90,6 +125,18 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByShortArray(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用短整型数组作为输入源的 ByteLoader 实例，指定字节序和缓冲区大小。
+     *
+     * @param input      输入的短整型数组
+     * @param order      元素拆分为字节时使用的字节序
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(short[] input, ByteOrder order, int bufferSize) {
+        return new ByteLoaderByShortArray(input, order, bufferSize);
+    }
+
     /**
      * 创建一个使用整型数组作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -111,6 +158,18 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByIntArray(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用整型数组作为输入源的 ByteLoader 实例，指定字节序和缓冲区大小。
+     *
+     * @param input      输入的整型数组
+     * @param order      元素拆分为字节时使用的字节序
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(int[] input, ByteOrder order, int bufferSize) {
+        return new ByteLoaderByIntArray(input, order, bufferSize);
+    }
+
     /**
      * 创建一个使用长整型数组作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -132,6 +191,18 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByLongArray(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用长整型数组作为输入源的 ByteLoader 实例，指定字节序和缓冲区大小。
+     *
+     * @param input      输入的长整型数组
+     * @param order      元素拆分为字节时使用的字节序
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(long[] input, ByteOrder order, int bufferSize) {
+        return new ByteLoaderByLongArray(input, order, bufferSize);
+    }
+
     /**
      * 创建一个使用 IntStream 作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -195,6 +266,30 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByCharBuffer(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用字符缓冲区作为输入源的 ByteLoader 实例，指定字节序和缓冲区大小。
+     *
+     * @param input      输入的字符缓冲区
+     * @param order      元素拆分为字节时使用的字节序
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(CharBuffer input, ByteOrder order, int bufferSize) {
+        return new ByteLoaderByCharBuffer(input, order, bufferSize);
+    }
+
+    /**
+     * 创建一个使用字符缓冲区作为输入源的 ByteLoader 实例，按指定字符集流式地编码，指定缓冲区大小。
+     *
+     * @param input      输入的字符缓冲区
+     * @param charset    编码时使用的字符集
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(CharBuffer input, Charset charset, int bufferSize) {
+        return new ByteLoaderByCharBuffer(input, charset, bufferSize);
+    }
+
     /**
      * 创建一个使用字符流作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -216,6 +311,18 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByReader(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用字符流作为输入源的 ByteLoader 实例，按指定字符集流式地编码，指定缓冲区大小。
+     *
+     * @param input      输入的字符流
+     * @param charset    编码时使用的字符集
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(Reader input, Charset charset, int bufferSize) {
+        return new ByteLoaderByReader(input, charset, bufferSize);
+    }
+
     /**
      * 创建一个使用字节缓冲区作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -237,6 +344,18 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByByteBuffer(input, bufferSize);
     }
 
+    /**
+     * 创建一个直接读取字节缓冲区的 ByteLoader 实例。
+     * 该实例不分配内部缓冲区，也不复制数据，适用于堆缓冲区、直接缓冲区以及只读缓冲区。
+     * 读取操作不会改变输入缓冲区的位置。
+     *
+     * @param input 输入的字节缓冲区
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader wrap(ByteBuffer input) {
+        return new ByteLoaderByByteBuffer(input);
+    }
+
     /**
      * 创建一个使用字节流作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -258,6 +377,19 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByInputStream(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用字节流作为输入源的 ByteLoader 实例，指定缓冲区大小以及是否开启预读模式。
+     * 预读模式下由后台虚拟线程提前读取下一批数据，适用于较慢的磁盘或管道。
+     *
+     * @param input      输入的字节流
+     * @param bufferSize 缓冲区大小
+     * @param readAhead  是否开启预读模式
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(InputStream input, int bufferSize, boolean readAhead) {
+        return new ByteLoaderByInputStream(input, bufferSize, readAhead);
+    }
+
     /**
      * 创建一个使用可读字节通道作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      *
@@ -279,6 +411,125 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByReadableByteChannel(input, bufferSize);
     }
 
+    /**
+     * 创建一个使用可读字节通道作为输入源的 ByteLoader 实例，指定缓冲区大小以及是否开启预读模式。
+     * 预读模式下由后台虚拟线程提前读取下一批数据，适用于较慢的磁盘或管道。
+     *
+     * @param input      输入的可读字节通道
+     * @param bufferSize 缓冲区大小
+     * @param readAhead  是否开启预读模式
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(ReadableByteChannel input, int bufferSize, boolean readAhead) {
+        return new ByteLoaderByReadableByteChannel(input, bufferSize, readAhead);
+    }
+
+    /**
+     * 创建一个解压 GZIP 字节流的 ByteLoader 实例，默认缓冲区大小为 1024。
+     * 压缩数据通过 {@link java.util.zip.Inflater} 直接解压到内部缓冲区，支持多个成员首尾相接的 GZIP 数据。
+     *
+     * @param input 输入的 GZIP 字节流
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofGzip(InputStream input) {
+        return ofGzip(input, 1024);
+    }
+
+    /**
+     * 创建一个解压 GZIP 字节流的 ByteLoader 实例，指定缓冲区大小。
+     * 压缩数据通过 {@link java.util.zip.Inflater} 直接解压到内部缓冲区，支持多个成员首尾相接的 GZIP 数据。
+     *
+     * @param input      输入的 GZIP 字节流
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofGzip(InputStream input, int bufferSize) {
+        return ofGzip(channel(input), bufferSize);
+    }
+
+    /**
+     * 创建一个解压 GZIP 可读字节通道的 ByteLoader 实例，指定缓冲区大小。
+     * 压缩数据通过 {@link java.util.zip.Inflater} 直接解压到内部缓冲区，支持多个成员首尾相接的 GZIP 数据。
+     *
+     * @param input      输入的 GZIP 可读字节通道
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofGzip(ReadableByteChannel input, int bufferSize) {
+        return new ByteLoaderByInflater(input, ByteLoaderByInflater.Format.GZIP, bufferSize);
+    }
+
+    /**
+     * 创建一个解压 ZLIB 格式 DEFLATE 字节流的 ByteLoader 实例，默认缓冲区大小为 1024。
+     * 与 {@link java.util.zip.InflaterInputStream} 的默认格式相同。
+     *
+     * @param input 输入的 DEFLATE 字节流
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofDeflate(InputStream input) {
+        return ofDeflate(input, 1024, false);
+    }
+
+    /**
+     * 创建一个解压 ZLIB 格式 DEFLATE 字节流的 ByteLoader 实例，指定缓冲区大小。
+     * 与 {@link java.util.zip.InflaterInputStream} 的默认格式相同。
+     *
+     * @param input      输入的 DEFLATE 字节流
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofDeflate(InputStream input, int bufferSize) {
+        return ofDeflate(input, bufferSize, false);
+    }
+
+    /**
+     * 创建一个解压 DEFLATE 字节流的 ByteLoader 实例，指定缓冲区大小以及是否为不带 ZLIB 包装的原始格式。
+     *
+     * @param input      输入的 DEFLATE 字节流
+     * @param bufferSize 缓冲区大小
+     * @param nowrap     是否为不带 ZLIB 包装的原始 DEFLATE 格式
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofDeflate(InputStream input, int bufferSize, boolean nowrap) {
+        return ofDeflate(channel(input), bufferSize, nowrap);
+    }
+
+    /**
+     * 创建一个解压 DEFLATE 可读字节通道的 ByteLoader 实例，指定缓冲区大小以及是否为不带 ZLIB 包装的原始格式。
+     *
+     * @param input      输入的 DEFLATE 可读字节通道
+     * @param bufferSize 缓冲区大小
+     * @param nowrap     是否为不带 ZLIB 包装的原始 DEFLATE 格式
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader ofDeflate(ReadableByteChannel input, int bufferSize, boolean nowrap) {
+        ByteLoaderByInflater.Format format = nowrap ? ByteLoaderByInflater.Format.DEFLATE : ByteLoaderByInflater.Format.ZLIB;
+        return new ByteLoaderByInflater(input, format, bufferSize);
+    }
+
+    /**
+     * 创建一个订阅发布者并加载其发布的字节数据的 ByteLoader 实例，默认缓冲区大小为 1024，最初请求 4 个元素。
+     *
+     * @param input 发布字节数据的发布者
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(Flow.Publisher<? extends ByteBuffer> input) {
+        return new ByteLoaderByPublisher(input, 1024, 4);
+    }
+
+    /**
+     * 创建一个订阅发布者并加载其发布的字节数据的 ByteLoader 实例，指定缓冲区大小与最初请求的元素数量。
+     * 之后每当一个元素全部加载到内部缓冲区中才再请求一个元素，使发布速度受读取速度的背压控制。
+     *
+     * @param input      发布字节数据的发布者
+     * @param bufferSize 缓冲区大小
+     * @param prefetch   最初请求的元素数量
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(Flow.Publisher<? extends ByteBuffer> input, int bufferSize, int prefetch) {
+        return new ByteLoaderByPublisher(input, bufferSize, prefetch);
+    }
+
     /**
      * 创建一个使用字符串作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
      * 字符串会被转换为字符数组处理。
@@ -302,9 +553,21 @@ public final class ByteLoaderFactory {
         return new ByteLoaderByCharArray(input.toCharArray(), bufferSize);
     }
 
+    /**
+     * 创建一个使用字符串和指定字符集作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
+     * 字符串按需流式地编码，不会预先转换为字节数组。
+     *
+     * @param input   输入的字符串
+     * @param charset 指定的字符集
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader of(String input, Charset charset) {
+        return of(input, charset, 1024);
+    }
+
     /**
      * 创建一个使用字符串和指定字符集作为输入源的 ByteLoader 实例，指定缓冲区大小。
-     * 字符串会被转换为字节数组处理。
+     * 字符串按需流式地编码，不会预先转换为字节数组。
      *
      * @param input      输入的字符串
      * @param charset    指定的字符集
@@ -312,22 +575,24 @@ public final class ByteLoaderFactory {
      * @return 返回一个新的 ByteLoader 实例
      */
     public static ByteLoader of(String input, Charset charset, int bufferSize) {
-        return new ByteLoaderByByteArray(input.getBytes(charset), bufferSize);
+        return new ByteLoaderByCharBuffer(CharBuffer.wrap(input), charset, bufferSize);
     }
 
     /**
      * 创建一个使用文件作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
+     * 文件大小达到 {@link #MAPPED_FILE_THRESHOLD} 时使用内存映射方式加载。
      *
      * @param input 输入的文件
      * @return 返回一个新的 ByteLoader 实例
      * @throws IOException 如果打开文件时发生错误
      */
     public static ByteLoader of(File input) throws IOException {
-        return new ByteLoaderByInputStream(new FileInputStream(input), 1024);
+        return of(input, 1024);
     }
 
     /**
      * 创建一个使用文件作为输入源的 ByteLoader 实例，指定缓冲区大小。
+     * 文件大小达到 {@link #MAPPED_FILE_THRESHOLD} 时使用内存映射方式加载。
      *
      * @param input      输入的文件
      * @param bufferSize 缓冲区大小
@@ -335,22 +600,27 @@ public final class ByteLoaderFactory {
      * @throws IOException 如果打开文件时发生错误
      */
     public static ByteLoader of(File input, int bufferSize) throws IOException {
+        if (input.isFile() && input.length() >= MAPPED_FILE_THRESHOLD) {
+            return new ByteLoaderByMappedFile(input.toPath(), bufferSize);
+        }
         return new ByteLoaderByInputStream(new FileInputStream(input), bufferSize);
     }
 
     /**
      * 创建一个使用路径作为输入源的 ByteLoader 实例，默认缓冲区大小为 1024。
+     * 文件大小达到 {@link #MAPPED_FILE_THRESHOLD} 时使用内存映射方式加载。
      *
      * @param input 输入的路径
      * @return 返回一个新的 ByteLoader 实例
      * @throws IOException 如果打开路径时发生错误
      */
     public static ByteLoader of(Path input) throws IOException {
-        return new ByteLoaderByInputStream(Files.newInputStream(input), 1024);
+        return of(input, 1024);
     }
 
     /**
      * 创建一个使用路径作为输入源的 ByteLoader 实例，指定缓冲区大小。
+     * 文件大小达到 {@link #MAPPED_FILE_THRESHOLD} 时使用内存映射方式加载。
      *
      * @param input      输入的路径
      * @param bufferSize 缓冲区大小
@@ -358,6 +628,70 @@ public final class ByteLoaderFactory {
      * @throws IOException 如果打开路径时发生错误
      */
     public static ByteLoader of(Path input, int bufferSize) throws IOException {
+        if (Files.isRegularFile(input) && Files.size(input) >= MAPPED_FILE_THRESHOLD) {
+            return new ByteLoaderByMappedFile(input, bufferSize);
+        }
         return new ByteLoaderByInputStream(Files.newInputStream(input), bufferSize);
     }
+
+    /**
+     * 创建一个将多个加载器首尾相接、作为一个连续字节序列读取的 ByteLoader 实例，默认缓冲区大小为 1024。
+     * 每个加载器在读完后立即关闭。
+     *
+     * @param loaders 按顺序排列的加载器
+     * @return 返回一个新的 ByteLoader 实例
+     */
+    public static ByteLoader concat(ByteLoader... loaders) {
+        return new ByteLoaderByConcat(Arrays.asList(loaders), 1024);
+    }
+
+    /**
+     * 创建一个将多个数据源首尾相接、作为一个连续字节序列读取的 ByteLoader 实例，默认缓冲区大小为 1024。
+     *
+     * @param sources 按顺序排列的数据源
+     * @return 返回一个新的 ByteLoader 实例
+     * @see #concat(List, int)
+     */
+    public static ByteLoader concat(List<?> sources) {
+        return new ByteLoaderByConcat(sources, 1024);
+    }
+
+    /**
+     * 创建一个将多个数据源首尾相接、作为一个连续字节序列读取的 ByteLoader 实例，指定缓冲区大小。
+     * 数据源可以是 {@link ByteLoader}、{@link ReadableByteChannel}、{@link InputStream}、{@link Path} 或 {@link File}，
+     * 路径与文件在轮到它们时才打开，每个数据源在读完后立即关闭。
+     *
+     * @param sources    按顺序排列的数据源
+     * @param bufferSize 缓冲区大小
+     * @return 返回一个新的 ByteLoader 实例
+     * @throws IllegalArgumentException 如果数据源的类型不受支持
+     */
+    public static ByteLoader concat(List<?> sources, int bufferSize) {
+        return new ByteLoaderByConcat(sources, bufferSize);
+    }
+
+    /**
+     * 创建一个由单生产者单消费者环形缓冲区支撑的 ByteLoader 实例，用于在线程之间传递字节数据，默认缓冲区大小为 1024。
+     * 生产者线程通过返回实例的 {@code put}/{@code offer} 方法写入，写完后调用 {@link ByteLoaderByRingBuffer#complete()}。
+     *
+     * @param capacity 环形缓冲区的容量，向上取整为 2 的幂
+     * @param strategy 缓冲区为空或已满时的等待策略
+     * @return 返回一个新的 ByteLoaderByRingBuffer 实例
+     */
+    public static ByteLoaderByRingBuffer ofRingBuffer(int capacity, ByteLoaderByRingBuffer.WaitStrategy strategy) {
+        return new ByteLoaderByRingBuffer(capacity, 1024, strategy);
+    }
+
+    /**
+     * 将字节流转换为可读字节通道。文件输入流直接使用其文件通道，可以直接读取到直接缓冲区中。
+     *
+     * @param input 输入的字节流
+     * @return 读取该字节流的可读字节通道
+     */
+    private static ReadableByteChannel channel(InputStream input) {
+        if (input instanceof FileInputStream) {
+            return ((FileInputStream) input).getChannel();
+        }
+        return Channels.newChannel(input);
+    }
 }
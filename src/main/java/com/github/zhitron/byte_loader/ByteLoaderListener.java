@@ -0,0 +1,58 @@
+package com.github.zhitron.byte_loader;
+
+/**
+ * ByteLoaderListener 是 {@link ByteLoader} 的运行状况监听器接口，通过 {@link ByteLoader#setListener(ByteLoaderListener)} 设置。
+ * 监听器在加载器所在的线程中同步调用，实现应尽可能轻量；同一个监听器可以同时用于多个加载器。
+ * 所有方法默认不做任何处理，实现类只需覆盖关心的事件。
+ *
+ * @author zhitron
+ * @see com.github.zhitron.byte_loader.impl.ByteLoaderMetrics
+ */
+public interface ByteLoaderListener {
+    /**
+     * 每次调用 {@link ByteLoader#load(java.nio.ByteBuffer)} 之后调用。
+     *
+     * @param loader 加载器
+     * @param bytes  本次加载的字节数
+     * @param nanos  本次加载耗费的纳秒数
+     */
+    default void onLoad(ByteLoader loader, int bytes, long nanos) {
+    }
+
+    /**
+     * 填充前压缩内部缓冲区时调用，即需要把尚未读取的字节移动到缓冲区开头时。
+     *
+     * @param loader 加载器
+     * @param bytes  被移动的字节数
+     */
+    default void onCompact(ByteLoader loader, int bytes) {
+    }
+
+    /**
+     * 每次填充内部缓冲区结束后调用。
+     *
+     * @param loader   加载器
+     * @param buffered 填充后内部缓冲区中的字节数
+     * @param capacity 内部缓冲区的容量
+     */
+    default void onFill(ByteLoader loader, int buffered, int capacity) {
+    }
+
+    /**
+     * 报告自上次报告以来读取位置前进的字节数，在每次填充前以及关闭时调用。
+     *
+     * @param loader 加载器
+     * @param bytes  读取位置前进的字节数
+     */
+    default void onConsume(ByteLoader loader, long bytes) {
+    }
+
+    /**
+     * 每次不移动指针地查看字节时调用，例如 {@link ByteLoader#peek(int)} 与 {@link ByteLoader#peekInt(java.nio.ByteOrder)}。
+     *
+     * @param loader 加载器
+     * @param bytes  本次查看到的最远字节相对于当前位置的字节数
+     */
+    default void onPeek(ByteLoader loader, int bytes) {
+    }
+}
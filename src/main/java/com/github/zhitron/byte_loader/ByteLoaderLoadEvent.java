@@ -0,0 +1,50 @@
+package com.github.zhitron.byte_loader;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * ByteLoaderLoadEvent 是 {@link ByteLoader} 每次调用 {@link ByteLoader#load(java.nio.ByteBuffer)} 时产生的 Java Flight Recorder 事件，
+ * 用于在记录中把加载器的阻塞读取与其他 I/O 区分开。
+ * 默认只记录耗时不少于 10 毫秒的加载，可以通过 JFR 配置中的 {@code com.github.zhitron.byte_loader.Load#threshold} 调整。
+ *
+ * @author zhitron
+ */
+@Name("com.github.zhitron.byte_loader.Load")
+@Label("Byte Loader Load")
+@Category({"Java Application", "Byte Loader"})
+@Description("A call to ByteLoader.load to refill the internal buffer")
+@Threshold("10 ms")
+final class ByteLoaderLoadEvent extends Event {
+    /**
+     * 执行加载的加载器类型。
+     */
+    @Label("Loader Class")
+    Class<?> loaderClass;
+
+    /**
+     * 加载前为满足当前请求仍然需要的字节数。
+     */
+    @Label("Requested Bytes")
+    @DataAmount
+    int requestedBytes;
+
+    /**
+     * 加载前内部缓冲区中可以写入的字节数。
+     */
+    @Label("Available Space")
+    @DataAmount
+    int availableBytes;
+
+    /**
+     * 本次加载实际写入的字节数。
+     */
+    @Label("Loaded Bytes")
+    @DataAmount
+    int loadedBytes;
+}
@@ -0,0 +1,253 @@
+package com.github.zhitron.byte_loader;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ByteLoaderPublisher 将 {@link ByteLoader} 的剩余字节作为 {@link Flow.Publisher} 发布，通过 {@link ByteLoader#publisher(int, Executor)} 创建。
+ * 每个元素是一个包含 chunkSize 个字节的独立缓冲区，只有最后一个元素可能少于 chunkSize 个字节；
+ * 只有订阅者请求时才从加载器中读取，因此读取速度受订阅者的背压控制。
+ * 读取与发布在指定的执行器中进行，同一时刻最多只有一个任务在执行。
+ * 加载器只能读取一次，因此只接受一个订阅者；发布结束、出错或订阅被取消时关闭加载器。
+ *
+ * @author zhitron
+ */
+final class ByteLoaderPublisher implements Flow.Publisher<ByteBuffer> {
+    /**
+     * 要发布的加载器。
+     */
+    private final ByteLoader loader;
+
+    /**
+     * 每个元素包含的字节数，只有最后一个元素可能更少。
+     */
+    private final int chunkSize;
+
+    /**
+     * 执行读取与发布的执行器。
+     */
+    private final Executor executor;
+
+    /**
+     * 是否已经有订阅者。
+     */
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * 构造一个新的 ByteLoaderPublisher 实例。
+     *
+     * @param loader    要发布的加载器
+     * @param chunkSize 每个元素包含的字节数
+     * @param executor  执行读取与发布的执行器
+     */
+    ByteLoaderPublisher(ByteLoader loader, int chunkSize, Executor executor) {
+        this.loader = loader;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+    }
+
+    /**
+     * 添加订阅者。第二个及之后的订阅者会收到 {@link IllegalStateException}。
+     *
+     * @param subscriber 订阅者
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Publisher supports only one subscriber"));
+            return;
+        }
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * 唯一的订阅，记录订阅者的请求数量并在执行器中按请求发布。
+     */
+    private final class Subscription implements Flow.Subscription {
+        /**
+         * 订阅者。
+         */
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /**
+         * 尚未满足的请求数量。
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * 待处理的信号数量，不为 0 时已经有任务在执行。
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        /**
+         * 是否已经取消或结束。
+         */
+        private volatile boolean done;
+
+        /**
+         * 加载器是否已经关闭。
+         */
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * 不合法的请求数量导致的错误，没有时为 null。
+         */
+        private volatile Throwable invalid;
+
+        /**
+         * 构造一个新的 Subscription 实例。
+         *
+         * @param subscriber 订阅者
+         */
+        Subscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * 增加请求数量并安排发布。请求数量不大于 0 时以 {@link IllegalArgumentException} 结束发布。
+         *
+         * @param n 增加的请求数量
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalid = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            }
+            this.schedule();
+        }
+
+        /**
+         * 取消订阅，之后不再发布任何元素，并关闭加载器。
+         */
+        @Override
+        public void cancel() {
+            done = true;
+            this.schedule();
+        }
+
+        /**
+         * 安排一次发布任务，已经有任务在执行时由该任务继续处理。
+         */
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    done = true;
+                    this.close();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * 在执行器中运行：按请求数量读取并发布元素，直到请求用完、加载器读完或订阅被取消。
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    this.emit();
+                } else {
+                    this.close();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * 在请求数量以内读取并发布元素，每个元素读满 chunkSize 个字节后才发布，到达流末尾时发布剩余的字节并结束发布。
+     * 结束信号不需要请求数量，因此每发布一个元素后都会检查是否已经到达流末尾。
+         */
+        private void emit() {
+            while (!done) {
+                Throwable invalid = this.invalid;
+                if (invalid != null) {
+                    this.finish(invalid);
+                    return;
+                }
+                long requested = demand.get();
+                if (requested == 0) return;
+                ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+                boolean end = false;
+                try {
+                    // 单次读取只复制内部缓冲区中的字节，需要反复读取直到填满元素或到达流末尾
+                    while (chunk.hasRemaining() && !end) {
+                        end = loader.read(chunk) < 0;
+                    }
+                } catch (RuntimeException e) {
+                    this.finish(e);
+                    return;
+                }
+                if (chunk.position() > 0) {
+                    if (requested != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    subscriber.onNext(chunk.flip());
+                }
+                if (!end && !done) {
+                    // 数据长度恰好是 chunkSize 的倍数时读取不会返回 -1，需要在发布后确认是否已经到达流末尾，
+                    // 否则请求数量用完后不会再执行发布任务，订阅者收不到完成信号
+                    try {
+                        end = loader.isEmpty();
+                    } catch (RuntimeException e) {
+                        this.finish(e);
+                        return;
+                    }
+                }
+                if (end) {
+                    this.finish(null);
+                    return;
+                }
+            }
+            this.close();
+        }
+
+        /**
+         * 结束发布并关闭加载器，通知订阅者发布完成或出错。
+         *
+         * @param failure 发生的错误，正常结束时为 null
+         */
+        private void finish(Throwable failure) {
+            done = true;
+            Throwable error = this.close();
+            if (failure == null) failure = error;
+            if (failure != null) {
+                subscriber.onError(failure);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        /**
+         * 关闭加载器。
+         *
+         * @return 关闭时发生的错误，没有时为 null
+         */
+        private Throwable close() {
+            if (!closed.compareAndSet(false, true)) return null;
+            try {
+                loader.close();
+                return null;
+            } catch (Exception e) {
+                return e;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.zhitron.byte_loader;
+
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * ByteLoaderSpliterator 是基于 {@link ByteLoader} 的 {@link Spliterator.OfInt} 实现，用于构建字节流。
+ * 未划分前直接读取原始加载器；数据源支持随机访问时可以划分为多个区间，
+ * 每个区间在开始遍历时才通过 {@link ByteLoader#splitRange(long, long)} 创建自己的子加载器，
+ * 并在遍历结束或流关闭时关闭。
+ *
+ * @author zhitron
+ */
+final class ByteLoaderSpliterator implements Spliterator.OfInt {
+    /**
+     * 原始加载器，所有区间都通过它创建子加载器。
+     */
+    private final ByteLoader root;
+
+    /**
+     * 是否输出有符号的字节值（-128 到 127），否则输出无符号的字节值（0 到 255）。
+     */
+    private final boolean signed;
+
+    /**
+     * 由所有相关的分割器共享的、已创建但尚未关闭的子加载器。
+     */
+    private final Queue<ByteLoader> opened;
+
+    /**
+     * 当前区间的终点（不包含），相对于原始加载器的数据源；数据源长度未知时为 -1。
+     */
+    private final long to;
+
+    /**
+     * 当前区间的起点（包含），仅在 loader 为 null 时有效。
+     */
+    private long from;
+
+    /**
+     * 当前正在读取的加载器，尚未打开或已读完时为 null。
+     */
+    private ByteLoader loader;
+
+    /**
+     * 当前加载器是否为本分割器创建的子加载器，是则需要由本分割器关闭。
+     */
+    private boolean owned;
+
+    /**
+     * 构造一个读取原始加载器剩余全部字节的分割器。
+     *
+     * @param root   原始加载器
+     * @param signed 是否输出有符号的字节值
+     */
+    ByteLoaderSpliterator(ByteLoader root, boolean signed) {
+        this.root = root;
+        this.signed = signed;
+        this.opened = new ConcurrentLinkedQueue<>();
+        this.to = root.sourceLength();
+        this.loader = root;
+    }
+
+    /**
+     * 构造一个读取原始加载器数据源中指定区间的分割器。
+     *
+     * @param parent 划分出该区间的分割器
+     * @param from   区间起点（包含）
+     * @param to     区间终点（不包含）
+     */
+    private ByteLoaderSpliterator(ByteLoaderSpliterator parent, long from, long to) {
+        this.root = parent.root;
+        this.signed = parent.signed;
+        this.opened = parent.opened;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        ByteLoader loader = open();
+        if (loader == null) return false;
+        int value = loader.pop();
+        if (value == -1) {
+            finish();
+            return false;
+        }
+        action.accept(signed ? (byte) value : value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        ByteLoader loader = open();
+        if (loader == null) return;
+        byte[] chunk = new byte[root.bufferSize()];
+        int read;
+        while ((read = loader.read(chunk, 0, chunk.length)) > 0) {
+            for (int i = 0; i < read; i++) {
+                action.accept(signed ? chunk[i] : chunk[i] & 0xFF);
+            }
+        }
+        finish();
+    }
+
+    /**
+     * 将当前区间的前半部分划分给一个新的分割器。只有数据源支持随机访问、
+     * 且剩余字节数不少于两个缓冲区大小时才会划分。划分后本分割器不再读取原始加载器。
+     *
+     * @return 读取前半部分的分割器，无法划分时返回 null
+     */
+    @Override
+    public OfInt trySplit() {
+        if (to < 0) return null;
+        long start = loader != null ? to - loader.remaining() : from;
+        long mid = start + (to - start) / 2;
+        mid -= mid % root.sourceAlignment();
+        if (mid - start < root.bufferSize() || to - mid < root.bufferSize()) return null;
+        if (loader != null) {
+            release();
+        }
+        this.from = mid;
+        return new ByteLoaderSpliterator(this, start, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        if (loader == null) return to - from;
+        long remaining = loader.remaining();
+        return remaining < 0 ? Long.MAX_VALUE : remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | NONNULL;
+        return to < 0 ? characteristics : characteristics | SIZED | SUBSIZED;
+    }
+
+    /**
+     * 关闭所有由相关分割器创建且尚未关闭的子加载器，在流关闭时调用。
+     * 某个子加载器关闭失败时仍然关闭其余的子加载器，最后抛出第一个异常，其余异常作为被抑制的异常附加在其上。
+     */
+    void close() {
+        RuntimeException failure = null;
+        ByteLoader loader;
+        while ((loader = opened.poll()) != null) {
+            try {
+                closeUnchecked(loader);
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * 获取当前应读取的加载器，如果当前区间尚未打开则为其创建子加载器。
+     *
+     * @return 当前加载器，区间已读完时返回 null
+     */
+    private ByteLoader open() {
+        if (loader == null && from < to) {
+            loader = root.splitRange(from, to);
+            owned = true;
+            opened.add(loader);
+        }
+        return loader;
+    }
+
+    /**
+     * 当前加载器读完后调用，释放当前加载器并标记区间已结束。
+     */
+    private void finish() {
+        release();
+        from = to;
+    }
+
+    /**
+     * 放弃当前加载器，如果它是本分割器创建的子加载器则将其关闭。
+     */
+    private void release() {
+        if (owned && opened.remove(loader)) {
+            closeUnchecked(loader);
+        }
+        loader = null;
+        owned = false;
+    }
+
+    /**
+     * 关闭加载器，关闭时发生的异常包装为运行时异常抛出。
+     *
+     * @param loader 要关闭的加载器
+     */
+    private static void closeUnchecked(ByteLoader loader) {
+        try {
+            loader.close();
+        } catch (Exception e) {
+            throw new RuntimeException("Error to close byte loader", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.zhitron.byte_loader;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * ByteRecordIterator 是按分隔符切分 {@link ByteLoader} 剩余字节的记录迭代器，通过 {@link ByteLoader#records(byte)} 或 {@link ByteLoader#lines()} 获取。
+ * 每条记录以只读 ByteBuffer 的形式返回，不包含分隔符；最后一条记录之后没有分隔符时同样会被返回，
+ * 但以分隔符结尾的数据不会产生额外的空记录。
+ * <p>
+ * 记录能够完整地容纳在内部缓冲区中时，返回的是内部缓冲区的只读切片，不会复制数据；
+ * 只有长度超过内部缓冲区容量的记录才会被复制到一个按需扩容的暂存缓冲区中。
+ * 因此返回的记录只在下一次调用 {@link #next()} 或对加载器进行其他操作之前有效，需要保留时应自行复制。
+ *
+ * @author zhitron
+ */
+public final class ByteRecordIterator implements Iterator<ByteBuffer> {
+    /**
+     * 被切分的加载器。
+     */
+    private final ByteLoader loader;
+
+    /**
+     * 分隔符。
+     */
+    private final byte delimiter;
+
+    /**
+     * 是否去掉记录末尾的回车符，用于按 {@code \r\n} 切分。
+     */
+    private final boolean stripCarriageReturn;
+
+    /**
+     * 用于存放长记录的暂存缓冲区，在第一次遇到长记录时创建。
+     */
+    private ByteBuffer scratch;
+
+    /**
+     * 构造一个记录迭代器。
+     *
+     * @param loader              被切分的加载器
+     * @param delimiter           分隔符
+     * @param stripCarriageReturn 是否去掉记录末尾的回车符
+     */
+    ByteRecordIterator(ByteLoader loader, byte delimiter, boolean stripCarriageReturn) {
+        this.loader = loader;
+        this.delimiter = delimiter;
+        this.stripCarriageReturn = stripCarriageReturn;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !loader.isEmpty();
+    }
+
+    @Override
+    public ByteBuffer next() {
+        int length = loader.indexOf(delimiter);
+        ByteBuffer record;
+        if (length >= 0) {
+            record = loader.slice(length, 1);
+        } else if (hasNext()) {
+            record = this.copy();
+        } else {
+            throw new NoSuchElementException();
+        }
+        int limit = record.limit();
+        if (stripCarriageReturn && limit > 0 && record.get(limit - 1) == '\r') {
+            record.limit(limit - 1);
+        }
+        return record;
+    }
+
+    /**
+     * 将下一条记录复制到暂存缓冲区中，用于在内部缓冲区中找不到分隔符的情况。
+     *
+     * @return 暂存缓冲区中记录的只读视图
+     */
+    private ByteBuffer copy() {
+        ByteBuffer scratch = this.scratch;
+        if (scratch == null) {
+            scratch = ByteBuffer.allocate(loader.bufferSize() * 2);
+        }
+        scratch.clear();
+        while (true) {
+            if (!scratch.hasRemaining()) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2).put(scratch.flip());
+            }
+            if (loader.readUntil(delimiter, scratch) < 0) break;
+            if (scratch.hasRemaining()) {
+                // 因为遇到分隔符或到达流末尾而停止，丢弃分隔符
+                loader.pop();
+                break;
+            }
+        }
+        this.scratch = scratch;
+        return scratch.flip().asReadOnlyBuffer();
+    }
+}
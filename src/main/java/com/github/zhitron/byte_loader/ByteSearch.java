@@ -0,0 +1,70 @@
+package com.github.zhitron.byte_loader;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ByteSearch 提供在 ByteBuffer 中查找字节的工具方法。
+ * 查找单个字节时每次通过 {@link ByteBuffer#getLong(int)} 读取 8 个字节，
+ * 并使用 SWAR（SIMD Within A Register）位运算同时比较这 8 个字节。
+ *
+ * @author zhitron
+ */
+final class ByteSearch {
+    /**
+     * 每个字节都为 0x01 的长整型值，与字节值相乘得到每个字节都为该值的长整型值。
+     */
+    private static final long BROADCAST = 0x0101010101010101L;
+    /**
+     * 每个字节都为 0x7F 的长整型值，即每个字节的低 7 位。
+     */
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    private ByteSearch() {
+    }
+
+    /**
+     * 在缓冲区的指定区间内查找第一个等于指定值的字节，不改变缓冲区的位置。
+     *
+     * @param buffer 要查找的缓冲区
+     * @param from   区间起点的绝对索引（包含）
+     * @param to     区间终点的绝对索引（不包含）
+     * @param value  要查找的字节值
+     * @return 第一个匹配字节的绝对索引，没有找到时返回 -1
+     */
+    static int indexOf(ByteBuffer buffer, int from, int to, byte value) {
+        int index = from;
+        if (to - from >= Long.BYTES) {
+            long pattern = BROADCAST * (value & 0xFF);
+            boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+            for (int last = to - Long.BYTES; index <= last; index += Long.BYTES) {
+                // 与目标值相同的字节异或后为 0，下面的运算只在为 0 的字节中留下最高位，且不会受相邻字节进位的影响
+                long word = buffer.getLong(index) ^ pattern;
+                long found = ~(((word & LOW7) + LOW7) | word | LOW7);
+                if (found != 0) {
+                    int bits = bigEndian ? Long.numberOfLeadingZeros(found) : Long.numberOfTrailingZeros(found);
+                    return index + (bits >>> 3);
+                }
+            }
+        }
+        for (; index < to; index++) {
+            if (buffer.get(index) == value) return index;
+        }
+        return -1;
+    }
+
+    /**
+     * 判断缓冲区中从指定索引开始的字节是否与指定的字节序列完全相同，调用方需保证缓冲区中有足够的字节。
+     *
+     * @param buffer  要比较的缓冲区
+     * @param index   比较起点的绝对索引
+     * @param pattern 要比较的字节序列
+     * @return 完全相同时返回 true，否则返回 false
+     */
+    static boolean matches(ByteBuffer buffer, int index, byte[] pattern) {
+        for (int i = 0; i < pattern.length; i++) {
+            if (buffer.get(index + i) != pattern[i]) return false;
+        }
+        return true;
+    }
+}
@@ -16,10 +16,20 @@ public class ByteLoaderByByteArray extends ByteLoader {
      */
     private final byte[] input;
 
+    /**
+     * 读取范围在数组中的起始位置（包含）。
+     */
+    private final int start;
+
+    /**
+     * 读取范围在数组中的结束位置（不包含）。
+     */
+    private final int end;
+
     /**
      * 当前读取位置的偏移量，指示下一个要读取的字节位置。
      */
-    private int offset = 0;
+    private int offset;
 
     /**
      * 构造一个新的 ByteLoaderByByteArray 实例。
@@ -28,8 +38,24 @@ public class ByteLoaderByByteArray extends ByteLoader {
      * @param bufferSize 缓冲区大小，必须大于 0
      */
     public ByteLoaderByByteArray(byte[] input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, 0, input.length, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByByteArray 实例，只读取数组中的指定范围。
+     *
+     * @param input      提供的字节数据源，不可为 null
+     * @param offset     读取范围的起始位置
+     * @param length     读取范围的长度
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @throws IndexOutOfBoundsException 如果读取范围超出数组范围
+     */
+    public ByteLoaderByByteArray(byte[] input, int offset, int length, int bufferSize) {
+        super(checkArguments(bufferSize, () -> Objects.checkFromIndexSize(offset, length, input.length)));
+        this.input = input;
+        this.start = offset;
+        this.end = offset + length;
+        this.offset = offset;
     }
 
     /**
@@ -40,9 +66,66 @@ public class ByteLoaderByByteArray extends ByteLoader {
      */
     @Override
     protected void load(ByteBuffer buffer) throws Exception {
-        int len = Math.min(buffer.remaining(), input.length - offset);
+        int len = Math.min(buffer.remaining(), end - offset);
         if (len <= 0) return;
         buffer.put(input, offset, len);
         offset += len;
     }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        int count = (int) Math.min(n, end - offset);
+        offset += count;
+        return count;
+    }
+
+    /**
+     * 直接移动读取位置。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 固定为 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        offset = start + (int) position;
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即读取范围的长度。
+     *
+     * @return 数据源的总字节数
+     */
+    @Override
+    protected long sourceLength() {
+        return end - start;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数
+     */
+    @Override
+    protected long sourcePosition() {
+        return offset - start;
+    }
+
+    /**
+     * 为数组中指定的字节区间创建一个新的加载器，两者共享同一个数组。
+     *
+     * @param from 区间起点（包含）
+     * @param to   区间终点（不包含）
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        return new ByteLoaderByByteArray(input, start + (int) from, (int) (to - from), bufferSize());
+    }
 }
@@ -7,6 +7,8 @@ import java.util.Objects;
 
 /**
  * ByteLoaderByByteBuffer 是一个具体的 ByteLoader 实现，用于从 ByteBuffer 中加载字节数据。
+ * 支持两种模式：复制模式将数据分批复制到内部缓冲区，并随读取推进输入缓冲区的位置；
+ * 视图模式直接从输入缓冲区的副本视图中读取，不分配内部缓冲区也不复制数据。
  *
  * @author zhitron
  */
@@ -18,14 +20,48 @@ public class ByteLoaderByByteBuffer extends ByteLoader {
     private final ByteBuffer input;
 
     /**
-     * 构造一个新的 ByteLoaderByByteBuffer 实例。
+     * 是否为视图模式。
+     */
+    private final boolean view;
+
+    /**
+     * 构造时输入缓冲区的位置，即数据源的起点。
+     */
+    private final int start;
+
+    /**
+     * 构造时输入缓冲区的界限，即数据源的终点。
+     */
+    private final int end;
+
+    /**
+     * 构造一个视图模式的 ByteLoaderByByteBuffer 实例。
+     * 直接读取输入缓冲区中剩余的字节，不会改变输入缓冲区的位置。
+     *
+     * @param input 提供数据源的 ByteBuffer，可以是堆缓冲区、直接缓冲区或只读缓冲区
+     */
+    public ByteLoaderByByteBuffer(ByteBuffer input) {
+        super(input);
+        // 视图模式下全部数据都已在内部缓冲区中，因此将副本的位置置于末尾表示已全部加载
+        this.input = input.slice();
+        this.input.position(this.input.limit());
+        this.view = true;
+        this.start = 0;
+        this.end = this.input.limit();
+    }
+
+    /**
+     * 构造一个复制模式的 ByteLoaderByByteBuffer 实例。
      *
      * @param input      提供数据源的 ByteBuffer
      * @param bufferSize 缓冲区大小，必须大于 0
      */
     public ByteLoaderByByteBuffer(ByteBuffer input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        super(checkArguments(bufferSize, () -> Objects.requireNonNull(input)));
+        this.input = input;
+        this.view = false;
+        this.start = input.position();
+        this.end = input.limit();
     }
 
     /**
@@ -41,8 +77,68 @@ public class ByteLoaderByByteBuffer extends ByteLoader {
         int remaining = buffer.remaining();
         int available = input.remaining();
         if (available <= 0 || remaining <= 0) return;
-        int max = Math.min(remaining, input.remaining());
-        buffer.put(input.array(), input.position(), max);
-        input.position(input.position() + max);
+        int max = Math.min(remaining, available);
+        int position = input.position();
+        buffer.put(input.slice(position, max));
+        input.position(position + max);
+    }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        int position = input.position();
+        int count = (int) Math.min(n, input.limit() - position);
+        input.position(position + count);
+        return count;
+    }
+
+    /**
+     * 直接移动读取位置。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 固定为 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        input.position(start + (int) position);
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即构造时输入缓冲区中剩余的字节数。
+     *
+     * @return 数据源的总字节数
+     */
+    @Override
+    protected long sourceLength() {
+        return end - start;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数
+     */
+    @Override
+    protected long sourcePosition() {
+        return input.position() - start;
+    }
+
+    /**
+     * 为输入缓冲区中指定的字节区间创建一个新的加载器，新加载器与本加载器使用相同的模式。
+     *
+     * @param from 区间起点（包含）
+     * @param to   区间终点（不包含）
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        ByteBuffer range = input.slice(start + (int) from, (int) (to - from));
+        return view ? new ByteLoaderByByteBuffer(range) : new ByteLoaderByByteBuffer(range, bufferSize());
     }
 }
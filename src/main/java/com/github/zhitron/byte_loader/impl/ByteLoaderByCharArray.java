@@ -3,11 +3,16 @@ package com.github.zhitron.byte_loader.impl;
 import com.github.zhitron.byte_loader.ByteLoader;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 /**
  * ByteLoaderByCharArray 是一个具体的 ByteLoader 实现，用于从 char 数组中加载字节数据。
- * 该类将每个 char 值拆分为 2 个字节，并按大端序（Big Endian）顺序写入 ByteBuffer。
+ * 该类将每个 char 值拆分为 2 个字节，并按指定的字节序（默认为大端序）写入 ByteBuffer。
+ * 数据通过 ByteBuffer 的类型视图批量写入，而不是逐个字节写入。
+ * 指定字符集时改为按该字符集流式地编码，字符直接编码到内部缓冲区中，此时数据源的字节长度未知，不支持划分与直接跳过。
  *
  * @author zhitron
  */
@@ -17,20 +22,130 @@ public class ByteLoaderByCharArray extends ByteLoader {
      */
     private final char[] input;
 
+    /**
+     * 写入缓冲区时使用的字节序。
+     */
+    private final ByteOrder order;
+
+    /**
+     * 按指定字符集编码时使用的编码器，未指定字符集时为 null。
+     */
+    private final CharEncoder encoder;
+
+    /**
+     * 按指定字符集编码时读取范围内尚未编码的字符，未指定字符集时为 null。
+     */
+    private final CharBuffer chars;
+
+    /**
+     * 读取范围在数组中的起始下标（包含）。
+     */
+    private final int start;
+
+    /**
+     * 读取范围在数组中的结束下标（不包含）。
+     */
+    private final int end;
+
     /**
      * 当前处理的字符数组偏移量，用于跟踪已读取的位置
      */
-    private int offset = 0;
+    private int offset;
+
+    /**
+     * 缓冲区的剩余空间不足一个元素时，暂存该元素中尚未写入缓冲区的字节，下一次加载时首先写入。
+     */
+    private final ByteBuffer spill = ByteBuffer.allocate(2).limit(0);
 
     /**
-     * 构造一个新的 ByteLoaderByCharArray 实例。
+     * 构造一个新的 ByteLoaderByCharArray 实例，按大端序写入。
      *
      * @param input      输入的字符数组
      * @param bufferSize 缓冲区大小，必须大于 2
      */
     public ByteLoaderByCharArray(char[] input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, ByteOrder.BIG_ENDIAN, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharArray 实例，按指定的字节序写入。
+     *
+     * @param input      输入的字符数组
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    public ByteLoaderByCharArray(char[] input, ByteOrder order, int bufferSize) {
+        this(input, 0, input.length, order, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharArray 实例，只读取数组中的指定范围，按指定的字节序写入。
+     *
+     * @param input      输入的字符数组
+     * @param offset     读取范围的起始下标
+     * @param length     读取范围的元素个数
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     * @throws IndexOutOfBoundsException 如果读取范围超出数组范围
+     */
+    public ByteLoaderByCharArray(char[] input, int offset, int length, ByteOrder order, int bufferSize) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(order);
+            Objects.checkFromIndexSize(offset, length, input.length);
+        }));
+        this.input = input;
+        this.order = order;
+        this.start = offset;
+        this.end = offset + length;
+        this.offset = offset;
+        this.encoder = null;
+        this.chars = null;
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharArray 实例，按指定字符集编码。
+     *
+     * @param input      输入的字符数组
+     * @param charset    编码时使用的字符集，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    public ByteLoaderByCharArray(char[] input, Charset charset, int bufferSize) {
+        this(input, 0, input.length, charset, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharArray 实例，只读取数组中的指定范围，按指定字符集编码。
+     *
+     * @param input      输入的字符数组
+     * @param offset     读取范围的起始下标
+     * @param length     读取范围的元素个数
+     * @param charset    编码时使用的字符集，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     * @throws IndexOutOfBoundsException 如果读取范围超出数组范围
+     */
+    public ByteLoaderByCharArray(char[] input, int offset, int length, Charset charset, int bufferSize) {
+        this(input, offset, length, new CharEncoder(charset), bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharArray 实例，只读取数组中的指定范围，使用指定的编码器编码。
+     * 编码器在借出内部缓冲区之前创建，字符集不受支持时不会借出缓冲区。
+     *
+     * @param input      输入的字符数组
+     * @param offset     读取范围的起始下标
+     * @param length     读取范围的元素个数
+     * @param encoder    编码器
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    private ByteLoaderByCharArray(char[] input, int offset, int length, CharEncoder encoder, int bufferSize) {
+        super(checkArguments(bufferSize, () -> Objects.checkFromIndexSize(offset, length, input.length)));
+        this.input = input;
+        this.order = null;
+        this.start = offset;
+        this.end = offset + length;
+        this.offset = offset;
+        this.encoder = encoder;
+        this.chars = CharBuffer.wrap(input, offset, length);
     }
 
     /**
@@ -52,15 +167,108 @@ public class ByteLoaderByCharArray extends ByteLoader {
      */
     @Override
     protected void load(ByteBuffer buffer) throws Exception {
+        if (encoder != null) {
+            encoder.encode(chars, buffer, true);
+            return;
+        }
+        this.putSpill(buffer);
         int remaining = buffer.remaining();
-        int available = input.length - offset;
+        int available = end - offset;
         if (available <= 0 || remaining <= 0) return;
-        int max = Math.min(available, remaining >> 1);
-        for (int i = 0; i < max; i++) {
-            char value = input[offset + i];
-            buffer.put((byte) (value >> 8));
-            buffer.put((byte) value);
+        if (remaining < 2) {
+            // 剩余空间不足一个元素，先写入能够容纳的字节，其余字节暂存到下一次加载
+            spill.clear().order(order).putChar(input[offset++]).flip();
+            this.putSpill(buffer);
+            return;
         }
+        int max = Math.min(available, remaining >> 1);
+        buffer.slice().order(order).asCharBuffer().put(input, offset, max);
+        buffer.position(buffer.position() + (max << 1));
         offset += max;
     }
+
+    /**
+     * 将暂存的字节写入指定的缓冲区，最多写满缓冲区的剩余空间。
+     *
+     * @param buffer 要填充数据的 Buffer
+     */
+    private void putSpill(ByteBuffer buffer) {
+        int len = Math.min(spill.remaining(), buffer.remaining());
+        if (len <= 0) return;
+        buffer.put(buffer.position(), spill, spill.position(), len);
+        buffer.position(buffer.position() + len);
+        spill.position(spill.position() + len);
+    }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节，先跳过暂存的字节，再跳过完整的元素。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        if (encoder != null) return 0;
+        int spilled = (int) Math.min(n, spill.remaining());
+        spill.position(spill.position() + spilled);
+        int count = (int) Math.min((n - spilled) >> 1, end - offset);
+        offset += count;
+        return spilled + ((long) count << 1);
+    }
+
+    /**
+     * 直接移动读取位置，目标位置已按 char 的大小对齐。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 按指定字符集编码时不支持随机访问，返回 false，否则返回 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        if (encoder != null) return false;
+        spill.limit(0);
+        offset = start + (int) (position >> 1);
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即读取范围内的元素个数乘以 2；按指定字符集编码时未知。
+     *
+     * @return 数据源的总字节数，未知时返回 -1
+     */
+    @Override
+    protected long sourceLength() {
+        return encoder != null ? -1 : (long) (end - start) * 2;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数，未知时返回 -1
+     */
+    @Override
+    protected long sourcePosition() {
+        return encoder != null ? -1 : (long) (offset - start) * 2 - spill.remaining();
+    }
+
+    /**
+     * 获取划分数据源时区间边界需要满足的对齐字节数，即每个 char 的字节数。
+     *
+     * @return 固定为 2
+     */
+    @Override
+    protected int sourceAlignment() {
+        return 2;
+    }
+
+    /**
+     * 为数组中指定的字节区间创建一个新的加载器，两者共享同一个数组并使用相同的字节序。
+     *
+     * @param from 区间起点（包含），为 2 的倍数
+     * @param to   区间终点（不包含），为 2 的倍数
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        return new ByteLoaderByCharArray(input, start + (int) (from / 2), (int) ((to - from) / 2), order, bufferSize());
+    }
 }
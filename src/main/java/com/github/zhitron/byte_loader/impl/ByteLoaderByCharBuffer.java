@@ -3,12 +3,17 @@ package com.github.zhitron.byte_loader.impl;
 import com.github.zhitron.byte_loader.ByteLoader;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
 import java.nio.CharBuffer;
 import java.util.Objects;
 
 /**
  * ByteLoaderByCharBuffer 是一个具体的 ByteLoader 实现，用于从 CharBuffer 中加载字节数据。
- * 该类将每个 char 值拆分为 2 个字节，并按大端序（Big Endian）顺序写入 ByteBuffer。
+ * 该类将每个 char 值拆分为 2 个字节，并按指定的字节序（默认为大端序）写入 ByteBuffer。
+ * 数据通过 ByteBuffer 的类型视图批量写入，而不是逐个字节写入。
+ * 指定字符集时改为按该字符集流式地编码，字符直接编码到内部缓冲区中，此时数据源的字节长度一般未知，不支持划分与直接跳过；
+ * 只有 US-ASCII 与 ISO-8859-1 并且字符中没有代理对时每个字符恰好编码为一个字节，字节长度就是字符数，仍然支持划分与直接跳过。
  *
  * @author zhitron
  */
@@ -20,14 +25,94 @@ public class ByteLoaderByCharBuffer extends ByteLoader {
     private final CharBuffer input;
 
     /**
-     * 构造一个新的 ByteLoaderByCharBuffer 实例。
+     * 写入缓冲区时使用的字节序。
+     */
+    private final ByteOrder order;
+
+    /**
+     * 按指定字符集编码时使用的编码器，未指定字符集时为 null。
+     */
+    private final CharEncoder encoder;
+
+    /**
+     * 按指定字符集编码时每个字符是否恰好编码为一个字节，此时字节位置与字符位置一一对应。
+     */
+    private final boolean singleByte;
+
+    /**
+     * 构造时字符缓冲区的位置，即数据源的起点。
+     */
+    private final int start;
+
+    /**
+     * 构造时字符缓冲区的界限，即数据源的终点。
+     */
+    private final int end;
+
+    /**
+     * 缓冲区的剩余空间不足一个元素时，暂存该元素中尚未写入缓冲区的字节，下一次加载时首先写入。
+     */
+    private final ByteBuffer spill = ByteBuffer.allocate(2).limit(0);
+
+    /**
+     * 构造一个新的 ByteLoaderByCharBuffer 实例，按大端序写入。
      *
      * @param input      提供字符数据的 CharBuffer，不能为 null
      * @param bufferSize 缓冲区大小，必须大于 2
      */
     public ByteLoaderByCharBuffer(CharBuffer input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, ByteOrder.BIG_ENDIAN, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharBuffer 实例，按指定的字节序写入。
+     *
+     * @param input      提供字符数据的 CharBuffer，不能为 null
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    public ByteLoaderByCharBuffer(CharBuffer input, ByteOrder order, int bufferSize) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(input);
+            Objects.requireNonNull(order);
+        }));
+        this.input = input;
+        this.order = order;
+        this.start = input.position();
+        this.end = input.limit();
+        this.encoder = null;
+        this.singleByte = false;
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharBuffer 实例，按指定字符集编码。
+     * 字符直接从 CharBuffer 编码到内部缓冲区中，例如可以通过 {@link CharBuffer#wrap(CharSequence)} 流式地编码字符串而不复制。
+     *
+     * @param input      提供字符数据的 CharBuffer，不能为 null
+     * @param charset    编码时使用的字符集，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    public ByteLoaderByCharBuffer(CharBuffer input, Charset charset, int bufferSize) {
+        this(input, new CharEncoder(charset), bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByCharBuffer 实例，使用指定的编码器编码。
+     * 编码器在借出内部缓冲区之前创建，字符集不受支持时不会借出缓冲区。
+     * 单字节字符集需要检查字符中是否有代理对（代理对只编码为一个字节），为此会遍历一次全部字符。
+     *
+     * @param input      提供字符数据的 CharBuffer，不能为 null
+     * @param encoder    编码器
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    private ByteLoaderByCharBuffer(CharBuffer input, CharEncoder encoder, int bufferSize) {
+        super(checkArguments(bufferSize, () -> Objects.requireNonNull(input)));
+        this.input = input;
+        this.order = null;
+        this.start = input.position();
+        this.end = input.limit();
+        this.encoder = encoder;
+        this.singleByte = encoder.isSingleByte() && Character.codePointCount(input, 0, end - start) == end - start;
     }
 
     /**
@@ -43,22 +128,138 @@ public class ByteLoaderByCharBuffer extends ByteLoader {
 
     /**
      * 从数据源加载字节数据到指定的缓冲区。
-     * 将 CharBuffer 中的字符转换为字节形式，并写入 ByteBuffer。
-     * 每个字符使用两个字节进行编码（高位在前，低位在后）。
+     * 未指定字符集时每个字符按构造时的字节序写为两个字节，缓冲区剩余空间不足两个字节时暂存多出的字节；
+     * 指定字符集时按该字符集把字符直接编码到缓冲区中。
      *
      * @param buffer 要填充数据的 Buffer
      * @throws Exception 如果加载过程中发生错误
      */
     @Override
     protected void load(ByteBuffer buffer) throws Exception {
+        if (encoder != null) {
+            encoder.encode(input, buffer, true);
+            return;
+        }
+        this.putSpill(buffer);
         int remaining = buffer.remaining();
         int available = input.remaining();
         if (available <= 0 || remaining <= 0) return;
+        if (remaining < 2) {
+            // 剩余空间不足一个元素，先写入能够容纳的字节，其余字节暂存到下一次加载
+            spill.clear().order(order).putChar(input.get()).flip();
+            this.putSpill(buffer);
+            return;
+        }
         int max = Math.min(available, remaining >> 1);
-        for (int i = 0; i < max; i++) {
-            char value = input.get();
-            buffer.put((byte) (value >> 8)); // 存储高字节
-            buffer.put((byte) value);        // 存储低字节
+        int position = input.position();
+        buffer.slice().order(order).asCharBuffer().put(input.slice(position, max));
+        input.position(position + max);
+        buffer.position(buffer.position() + (max << 1));
+    }
+
+    /**
+     * 将暂存的字节写入指定的缓冲区，最多写满缓冲区的剩余空间。
+     *
+     * @param buffer 要填充数据的 Buffer
+     */
+    private void putSpill(ByteBuffer buffer) {
+        int len = Math.min(spill.remaining(), buffer.remaining());
+        if (len <= 0) return;
+        buffer.put(buffer.position(), spill, spill.position(), len);
+        buffer.position(buffer.position() + len);
+        spill.position(spill.position() + len);
+    }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节，先跳过暂存的字节，再跳过完整的字符。
+     * 按指定字符集编码时只有每个字符恰好编码为一个字节才能直接跳过。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        if (encoder != null) {
+            if (!singleByte) return 0;
+            int position = input.position();
+            int count = (int) Math.min(n, input.limit() - position);
+            input.position(position + count);
+            return count;
+        }
+        int spilled = (int) Math.min(n, spill.remaining());
+        spill.position(spill.position() + spilled);
+        int position = input.position();
+        int count = (int) Math.min((n - spilled) >> 1, input.limit() - position);
+        input.position(position + count);
+        return spilled + ((long) count << 1);
+    }
+
+    /**
+     * 直接移动读取位置，目标位置已按 {@link #sourceAlignment()} 对齐。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 按指定字符集编码且字符不是恰好编码为一个字节时不支持随机访问，返回 false，否则返回 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        if (encoder != null) {
+            if (!singleByte) return false;
+            encoder.reset();
+            input.position(start + (int) position);
+            return true;
+        }
+        spill.limit(0);
+        input.position(start + (int) (position >> 1));
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即构造时字符缓冲区中剩余的字符数乘以 2；
+     * 按指定字符集编码时，每个字符恰好编码为一个字节则为字符数，否则未知。
+     *
+     * @return 数据源的总字节数，未知时返回 -1
+     */
+    @Override
+    protected long sourceLength() {
+        if (encoder != null) return singleByte ? end - start : -1;
+        return (long) (end - start) * 2;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数，未知时返回 -1
+     */
+    @Override
+    protected long sourcePosition() {
+        if (encoder != null) return singleByte ? input.position() - start : -1;
+        return (long) (input.position() - start) * 2 - spill.remaining();
+    }
+
+    /**
+     * 获取划分数据源时区间边界需要满足的对齐字节数，即每个 char 的字节数。
+     *
+     * @return 按指定字符集编码时为 1，否则为 2
+     */
+    @Override
+    protected int sourceAlignment() {
+        return encoder != null ? 1 : 2;
+    }
+
+    /**
+     * 为字符缓冲区中指定的字节区间创建一个新的加载器，两者共享同一份字符数据并使用相同的字节序或字符集。
+     *
+     * @param from 区间起点（包含），满足 {@link #sourceAlignment()} 的对齐要求
+     * @param to   区间终点（不包含），满足 {@link #sourceAlignment()} 的对齐要求
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        if (encoder != null) {
+            CharBuffer range = input.slice(start + (int) from, (int) (to - from));
+            return new ByteLoaderByCharBuffer(range, encoder.charset(), bufferSize());
         }
+        CharBuffer range = input.slice(start + (int) (from / 2), (int) ((to - from) / 2));
+        return new ByteLoaderByCharBuffer(range, order, bufferSize());
     }
 }
@@ -0,0 +1,272 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ByteLoaderByConcat 是一个将多个数据源首尾相接、作为一个连续字节序列加载的 ByteLoader 实现。
+ * 数据源可以是 {@link ByteLoader}、{@link ReadableByteChannel}、{@link InputStream}、{@link Path} 或 {@link File}。
+ * 路径与文件在轮到它们时才打开，每个数据源在读完后立即关闭，因此任意时刻最多只持有一个打开的文件。
+ * 通道类数据源直接读取到内部缓冲区中，不经过中间缓冲区；内部缓冲区中的数据可以跨越数据源的边界，
+ * 因此 {@code peek(offset)} 等操作不受边界影响。
+ *
+ * @author zhitron
+ */
+public class ByteLoaderByConcat extends ByteLoader {
+    /**
+     * 按顺序排列的数据源，已经打开或关闭的数据源会被置为 null。
+     */
+    private final Object[] sources;
+
+    /**
+     * 下一个要打开的数据源的下标。
+     */
+    private int next;
+
+    /**
+     * 当前正在读取的加载器，当前数据源不是加载器时为 null。
+     */
+    private ByteLoader loader;
+
+    /**
+     * 当前正在读取的通道，当前数据源不是通道时为 null。
+     */
+    private ReadableByteChannel channel;
+
+    /**
+     * 等待非阻塞通道数据源可读时使用的私有选择器，需要时才打开。
+     */
+    private Selector waiter;
+
+    /**
+     * 构造一个新的 ByteLoaderByConcat 实例。
+     *
+     * @param sources    按顺序排列的数据源，不能为 null，也不能包含 null
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @throws IllegalArgumentException 如果数据源的类型不受支持
+     */
+    public ByteLoaderByConcat(List<?> sources, int bufferSize) {
+        super(checkArguments(bufferSize, () -> {
+            for (Object source : sources) {
+                if (!(source instanceof ByteLoader || source instanceof ReadableByteChannel || source instanceof InputStream
+                        || source instanceof Path || source instanceof File)) {
+                    throw new IllegalArgumentException("Unsupported source type: " + (source == null ? null : source.getClass().getName()));
+                }
+            }
+        }));
+        this.sources = sources.toArray();
+    }
+
+    /**
+     * 从数据源加载字节数据到指定的缓冲区。当前数据源读完时将其关闭，并继续从下一个数据源加载。
+     * 只有读取返回 -1 时才认为当前数据源已经读完；非阻塞通道读取到 0 个字节时等待通道可读后再次读取。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @throws Exception 如果加载过程中发生错误
+     */
+    @Override
+    protected void load(ByteBuffer buffer) throws Exception {
+        while (buffer.hasRemaining() && this.current()) {
+            int read = loader != null ? loader.read(buffer) : channel.read(buffer);
+            if (read > 0) {
+                return;
+            } else if (read < 0) {
+                this.closeCurrent();
+            } else if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+                this.awaitReadable((SelectableChannel) channel);
+            }
+        }
+    }
+
+    /**
+     * 通过私有的选择器等待非阻塞通道可读。
+     *
+     * @param channel 非阻塞通道
+     * @throws IOException 如果等待时发生错误，或者等待时被中断
+     */
+    private void awaitReadable(SelectableChannel channel) throws IOException {
+        Selector waiter = this.waiter;
+        if (waiter != null && waiter.provider() != channel.provider()) {
+            waiter.close();
+            waiter = null;
+        }
+        if (waiter == null) {
+            this.waiter = waiter = channel.provider().openSelector();
+        }
+        SelectionKey key = channel.keyFor(waiter);
+        if (key == null) {
+            key = channel.register(waiter, SelectionKey.OP_READ);
+        }
+        waiter.select();
+        waiter.selectedKeys().remove(key);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while waiting for channel to be readable");
+        }
+    }
+
+    /**
+     * 在当前数据源中直接跳过尚未加载的字节，数据源读完时继续在下一个数据源中跳过。
+     * 加载器数据源通过 {@link ByteLoader#skip(long)} 跳过，{@link SeekableByteChannel} 数据源通过移动位置跳过，
+     * 遇到其他数据源时停止。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     * @throws Exception 如果跳过过程中发生错误
+     */
+    @Override
+    protected long skipSource(long n) throws Exception {
+        long skipped = 0;
+        while (skipped < n && this.current()) {
+            if (loader != null) {
+                skipped += loader.skip(n - skipped);
+            } else if (channel instanceof SeekableByteChannel) {
+                SeekableByteChannel seekable = (SeekableByteChannel) channel;
+                long position = seekable.position();
+                long count = Math.max(0, Math.min(n - skipped, seekable.size() - position));
+                seekable.position(position + count);
+                skipped += count;
+            } else {
+                break;
+            }
+            if (skipped < n) {
+                this.closeCurrent();
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * 将尚未加载的字节直接传输到指定的通道。加载器数据源通过 {@link ByteLoader#transferTo(WritableByteChannel)} 传输，
+     * {@link FileChannel} 数据源通过 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 传输，
+     * 遇到其他数据源时停止，剩余的字节通过内部缓冲区写出。
+     *
+     * @param target 目标通道
+     * @return 实际传输的字节数
+     * @throws IOException 如果传输过程中发生错误
+     */
+    @Override
+    protected long transferSource(WritableByteChannel target) throws IOException {
+        long total = 0;
+        while (this.current()) {
+            if (loader != null) {
+                total += loader.transferTo(target);
+            } else if (channel instanceof FileChannel) {
+                FileChannel file = (FileChannel) channel;
+                long position = file.position();
+                long size = file.size();
+                long count;
+                while (position < size && (count = file.transferTo(position, size - position, target)) > 0) {
+                    position += count;
+                    total += count;
+                }
+                file.position(position);
+                if (position < size) break;
+            } else {
+                break;
+            }
+            this.closeCurrent();
+        }
+        return total;
+    }
+
+    /**
+     * 确保存在当前数据源，必要时打开下一个数据源。
+     *
+     * @return 是否存在当前数据源，所有数据源都已读完时返回 false
+     * @throws IOException 如果打开数据源时发生错误
+     */
+    private boolean current() throws IOException {
+        if (loader != null || channel != null) return true;
+        if (next >= sources.length) return false;
+        Object source = sources[next];
+        sources[next++] = null;
+        if (source instanceof ByteLoader) {
+            loader = (ByteLoader) source;
+        } else if (source instanceof ReadableByteChannel) {
+            channel = (ReadableByteChannel) source;
+        } else if (source instanceof FileInputStream) {
+            channel = ((FileInputStream) source).getChannel();
+        } else if (source instanceof InputStream) {
+            channel = Channels.newChannel((InputStream) source);
+        } else if (source instanceof Path) {
+            channel = FileChannel.open((Path) source);
+        } else {
+            channel = FileChannel.open(((File) source).toPath());
+        }
+        return true;
+    }
+
+    /**
+     * 关闭当前数据源。
+     *
+     * @throws IOException 如果关闭过程中发生错误
+     */
+    private void closeCurrent() throws IOException {
+        ByteLoader loader = this.loader;
+        ReadableByteChannel channel = this.channel;
+        this.loader = null;
+        this.channel = null;
+        if (channel != null) {
+            channel.close();
+        } else if (loader != null) {
+            try {
+                loader.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    /**
+     * 关闭资源。此实现关闭当前数据源以及所有尚未读取的、已经打开的数据源。
+     *
+     * @throws Exception 如果关闭过程中发生错误
+     */
+    @Override
+    public void close() throws Exception {
+        List<Object> pending = new ArrayList<>();
+        if (waiter != null) pending.add(waiter);
+        if (loader != null) pending.add(loader);
+        if (channel != null) pending.add(channel);
+        for (int i = next; i < sources.length; i++) {
+            if (sources[i] instanceof AutoCloseable) pending.add(sources[i]);
+            sources[i] = null;
+        }
+        this.loader = null;
+        this.channel = null;
+        this.next = sources.length;
+        Exception error = null;
+        for (Object source : pending) {
+            try {
+                ((AutoCloseable) source).close();
+            } catch (Exception e) {
+                if (error == null) error = e;
+                else error.addSuppressed(e);
+            }
+        }
+        try {
+            if (error != null) throw error;
+        } finally {
+            super.close();
+        }
+    }
+}
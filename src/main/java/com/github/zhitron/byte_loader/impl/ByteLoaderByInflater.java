@@ -0,0 +1,354 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteBufferPool;
+import com.github.zhitron.byte_loader.ByteLoader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * ByteLoaderByInflater 是一个从压缩数据通道中解压并加载字节数据的 ByteLoader 实现。
+ * 压缩数据直接读取到一个池化的直接缓冲区中，再通过 {@link Inflater} 的 ByteBuffer 重载直接解压到内部缓冲区，
+ * 不经过堆上的中间数组。支持 GZIP（包括多个成员首尾相接的文件）、ZLIB 与不带包装的 DEFLATE 三种格式，
+ * GZIP 格式会校验每个成员结尾的 CRC32 与长度。
+ *
+ * @author zhitron
+ */
+public class ByteLoaderByInflater extends ByteLoader {
+    /**
+     * 压缩数据的格式。
+     */
+    public enum Format {
+        /**
+         * GZIP 格式（RFC 1952），与 {@link java.util.zip.GZIPInputStream} 相同。
+         */
+        GZIP,
+        /**
+         * ZLIB 格式（RFC 1950），与 {@link java.util.zip.InflaterInputStream} 的默认格式相同。
+         */
+        ZLIB,
+        /**
+         * 不带包装的 DEFLATE 格式（RFC 1951）。
+         */
+        DEFLATE
+    }
+
+    /**
+     * GZIP 头部标志：包含 CRC16 校验。
+     */
+    private static final int FHCRC = 2;
+    /**
+     * GZIP 头部标志：包含额外字段。
+     */
+    private static final int FEXTRA = 4;
+    /**
+     * GZIP 头部标志：包含文件名。
+     */
+    private static final int FNAME = 8;
+    /**
+     * GZIP 头部标志：包含注释。
+     */
+    private static final int FCOMMENT = 16;
+
+    /**
+     * 提供压缩数据的通道，在关闭时一并关闭。
+     */
+    private final ReadableByteChannel input;
+
+    /**
+     * 压缩数据的格式。
+     */
+    private final Format format;
+
+    /**
+     * 用于解压的 Inflater，在关闭时释放。
+     */
+    private final Inflater inflater;
+
+    /**
+     * GZIP 格式下对当前成员解压结果计算的 CRC32。
+     */
+    private final CRC32 crc;
+
+    /**
+     * 借出压缩数据缓冲区的缓冲区池。
+     */
+    private final ByteBufferPool pool;
+
+    /**
+     * 从缓冲区池中借出的原始缓冲区，压缩数据缓冲区是它的一个切片。关闭后为 null。
+     */
+    private ByteBuffer pooled;
+
+    /**
+     * 压缩数据缓冲区（读取模式），其中是已经从通道读取但尚未被解压的压缩数据。
+     */
+    private final ByteBuffer compressed;
+
+    /**
+     * GZIP 格式下是否需要先解析下一个成员的头部。
+     */
+    private boolean header;
+
+    /**
+     * GZIP 格式下已经解析的成员数量。
+     */
+    private int members;
+
+    /**
+     * 是否已经解压完全部数据。
+     */
+    private boolean finished;
+
+    /**
+     * 非阻塞通道上读取压缩数据时用于等待数据可读的选择器，第一次需要等待时才打开。
+     */
+    private Selector waiter;
+
+    /**
+     * 构造一个新的 ByteLoaderByInflater 实例。
+     *
+     * @param input      提供压缩数据的通道，不能为 null
+     * @param format     压缩数据的格式，不能为 null
+     * @param bufferSize 缓冲区大小，同时用作压缩数据缓冲区的大小，必须大于 0
+     */
+    public ByteLoaderByInflater(ReadableByteChannel input, Format format, int bufferSize) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(input);
+            Objects.requireNonNull(format);
+        }));
+        this.input = input;
+        this.format = format;
+        this.inflater = new Inflater(format != Format.ZLIB);
+        this.crc = format == Format.GZIP ? new CRC32() : null;
+        this.header = format == Format.GZIP;
+        this.pool = ByteLoader.getDefaultBufferPool();
+        this.pooled = pool.acquire(bufferSize);
+        this.compressed = pooled.clear().slice(0, bufferSize).flip();
+    }
+
+    /**
+     * 从压缩数据中解压字节数据到指定的缓冲区。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @throws Exception 如果读取压缩数据时发生错误，或压缩数据的格式不正确
+     */
+    @Override
+    protected void load(ByteBuffer buffer) throws Exception {
+        while (buffer.hasRemaining() && !finished) {
+            if (header && !this.readHeader()) {
+                finished = true;
+                return;
+            }
+            int position = buffer.position();
+            int count;
+            try {
+                count = inflater.inflate(buffer);
+            } catch (DataFormatException e) {
+                throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid " + format + " data format");
+            }
+            if (crc != null && count > 0) {
+                crc.update(buffer.slice(position, count));
+            }
+            if (inflater.finished()) {
+                this.finishMember();
+            } else if (count == 0 && inflater.needsDictionary()) {
+                throw new ZipException("Preset dictionary is not supported");
+            } else if (count == 0 && inflater.needsInput()) {
+                // 与 InflaterInputStream 相同，只有没有解压出任何字节时才补充输入，Inflater 内部可能还有待输出的字节
+                if (!compressed.hasRemaining() && !this.readCompressed()) {
+                    throw new EOFException("Unexpected end of " + format + " input stream");
+                }
+                inflater.setInput(compressed);
+            }
+            if (count > 0) return;
+        }
+    }
+
+    /**
+     * 当前压缩数据结束后调用。GZIP 格式下校验成员结尾并准备解析下一个成员，其他格式下结束加载。
+     *
+     * @throws Exception 如果读取压缩数据时发生错误，或成员结尾校验失败
+     */
+    private void finishMember() throws Exception {
+        if (format != Format.GZIP) {
+            finished = true;
+            return;
+        }
+        long expectedCrc = this.readIntLE();
+        long expectedSize = this.readIntLE();
+        if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        inflater.reset();
+        crc.reset();
+        header = true;
+    }
+
+    /**
+     * 解析 GZIP 成员的头部。第一个成员之后已经没有更多数据、剩余数据不是 GZIP 成员或者头部不完整时返回 false，
+     * 与 {@link java.util.zip.GZIPInputStream} 一样忽略其后的数据。
+     *
+     * @return 是否成功解析了头部
+     * @throws Exception 如果读取压缩数据时发生错误，或第一个成员的头部格式不正确
+     */
+    private boolean readHeader() throws Exception {
+        if (members == 0) {
+            this.parseHeader();
+            return true;
+        }
+        try {
+            this.parseHeader();
+            return true;
+        } catch (EOFException | ZipException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析一个 GZIP 成员的头部，成功后开始解压该成员。
+     *
+     * @throws Exception 如果读取压缩数据时发生错误，或头部格式不正确、不完整
+     */
+    private void parseHeader() throws Exception {
+        if (this.readByte() != 0x1F || this.readByte() != 0x8B) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (this.readByte() != 8) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = this.readByte();
+        this.skipBytes(6); // MTIME、XFL 与 OS
+        if ((flags & FEXTRA) != 0) {
+            this.skipBytes(this.readByte() | this.readByte() << 8);
+        }
+        if ((flags & FNAME) != 0) {
+            while (this.readByte() != 0) ;
+        }
+        if ((flags & FCOMMENT) != 0) {
+            while (this.readByte() != 0) ;
+        }
+        if ((flags & FHCRC) != 0) {
+            this.skipBytes(2);
+        }
+        header = false;
+        members++;
+    }
+
+    /**
+     * 以小端序读取一个 4 字节的无符号整数。
+     *
+     * @return 读取的值
+     * @throws Exception 如果读取压缩数据时发生错误或数据提前结束
+     */
+    private long readIntLE() throws Exception {
+        long value = 0;
+        for (int i = 0; i < 4; i++) {
+            value |= (long) this.readByte() << (i << 3);
+        }
+        return value;
+    }
+
+    /**
+     * 跳过指定数量的压缩数据字节。
+     *
+     * @param count 要跳过的字节数
+     * @throws Exception 如果读取压缩数据时发生错误或数据提前结束
+     */
+    private void skipBytes(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            this.readByte();
+        }
+    }
+
+    /**
+     * 读取一个压缩数据字节。
+     *
+     * @return 读取的无符号字节值
+     * @throws Exception 如果读取压缩数据时发生错误或数据提前结束
+     */
+    private int readByte() throws Exception {
+        if (!compressed.hasRemaining() && !this.readCompressed()) {
+            throw new EOFException("Unexpected end of " + format + " input stream");
+        }
+        return compressed.get() & 0xFF;
+    }
+
+    /**
+     * 在压缩数据缓冲区为空时从通道中读取更多压缩数据。
+     *
+     * @return 是否读取到了数据，通道已到达末尾时返回 false
+     * @throws Exception 如果读取过程中发生错误
+     */
+    private boolean readCompressed() throws Exception {
+        compressed.clear();
+        int read;
+        try {
+            while ((read = input.read(compressed)) == 0) {
+                if (input instanceof SelectableChannel && !((SelectableChannel) input).isBlocking()) {
+                    // 非阻塞通道读取到 0 个字节不代表流末尾，等待通道可读后再次读取
+                    this.awaitReadable();
+                }
+            }
+        } finally {
+            compressed.flip();
+        }
+        return read > 0;
+    }
+
+    /**
+     * 通过私有的选择器等待非阻塞通道可读。
+     *
+     * @throws IOException 如果等待时发生错误，或者等待时被中断
+     */
+    private void awaitReadable() throws IOException {
+        SelectableChannel channel = (SelectableChannel) input;
+        Selector waiter = this.waiter;
+        if (waiter == null) {
+            this.waiter = waiter = channel.provider().openSelector();
+        }
+        SelectionKey key = channel.keyFor(waiter);
+        if (key == null) {
+            key = channel.register(waiter, SelectionKey.OP_READ);
+        }
+        waiter.select();
+        waiter.selectedKeys().remove(key);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while waiting for channel to be readable");
+        }
+    }
+
+    /**
+     * 关闭资源，释放 Inflater、归还压缩数据缓冲区、关闭等待用的选择器并关闭通道。
+     *
+     * @throws Exception 如果关闭过程中发生错误
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            inflater.end();
+            ByteBuffer pooled = this.pooled;
+            if (pooled != null) {
+                this.pooled = null;
+                pool.release(pooled);
+            }
+            if (waiter != null) {
+                waiter.close();
+            }
+            this.input.close();
+        } finally {
+            super.close();
+        }
+    }
+}
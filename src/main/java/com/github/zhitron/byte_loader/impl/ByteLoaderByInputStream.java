@@ -2,13 +2,17 @@ package com.github.zhitron.byte_loader.impl;
 
 import com.github.zhitron.byte_loader.ByteLoader;
 
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Objects;
 
 /**
  * ByteLoaderByInputStream 是一个具体的 ByteLoader 实现类，用于从 InputStream 中加载字节数据。
  * 它使用缓存机制来提高读取效率，并正确释放与输入流相关的资源。
+ * 开启预读模式时，由后台虚拟线程提前读取下一批数据，使输入流的阻塞读取与数据处理重叠进行。
  *
  * @author zhitron
  */
@@ -25,6 +29,11 @@ public class ByteLoaderByInputStream extends ByteLoader {
      */
     private byte[] cache;
 
+    /**
+     * 预读模式下执行预读的对象，未开启预读时为 null。
+     */
+    private final ReadAhead readAhead;
+
     /**
      * 构造一个新的 ByteLoaderByInputStream 实例。
      *
@@ -32,8 +41,20 @@ public class ByteLoaderByInputStream extends ByteLoader {
      * @param bufferSize 缓冲区大小，必须大于 0
      */
     public ByteLoaderByInputStream(InputStream input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, bufferSize, false);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByInputStream 实例，指定是否开启预读模式。
+     *
+     * @param input      要读取数据的输入流，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param readAhead  是否开启预读模式
+     */
+    public ByteLoaderByInputStream(InputStream input, int bufferSize, boolean readAhead) {
+        super(checkArguments(bufferSize, () -> Objects.requireNonNull(input)));
+        this.input = input;
+        this.readAhead = readAhead ? new ReadAhead(this::readInto, bufferSize) : null;
     }
 
     /**
@@ -48,7 +69,11 @@ public class ByteLoaderByInputStream extends ByteLoader {
     protected void load(ByteBuffer buffer) throws Exception {
         int remaining = buffer.remaining();
         if (remaining <= 0) return;
-        if (cache == null) {
+        if (readAhead != null) {
+            readAhead.transfer(buffer);
+            return;
+        }
+        if (cache == null || cache.length < remaining) {
             cache = new byte[buffer.capacity()];
         }
         int read = input.read(cache, 0, remaining);
@@ -56,14 +81,107 @@ public class ByteLoaderByInputStream extends ByteLoader {
         buffer.put(cache, 0, read);
     }
 
+    /**
+     * 预读模式下由后台线程调用，从输入流中读取数据到预读缓冲区。
+     * 预读缓冲区基于堆数组时直接读取到该数组中，否则先读取到缓存数组再复制；预读模式下缓存数组只由后台线程使用。
+     *
+     * @param buffer 预读缓冲区
+     * @return 实际读取的字节数，输入流结束时返回 -1
+     * @throws Exception 如果读取过程中发生错误
+     */
+    private int readInto(ByteBuffer buffer) throws Exception {
+        int read;
+        if (buffer.hasArray()) {
+            read = input.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            if (read > 0) {
+                buffer.position(buffer.position() + read);
+            }
+        } else {
+            if (cache == null || cache.length < buffer.remaining()) {
+                cache = new byte[buffer.capacity()];
+            }
+            read = input.read(cache, 0, buffer.remaining());
+            if (read > 0) {
+                buffer.put(cache, 0, read);
+            }
+        }
+        return read;
+    }
+
+    /**
+     * 通过 {@link InputStream#skip(long)} 跳过尚未加载的字节。
+     * 启用预读时后台线程已经读取了后续数据，因此不直接跳过。
+     * {@link FileInputStream#skip(long)} 可以移动到文件末尾之后并返回全部的字节数，因此先按文件的剩余长度截断；
+     * 管道等无法获取大小与位置的 FileInputStream 通过读取并丢弃数据来跳过；
+     * 其他输入流只跳过前 n - 1 个字节，最后一个字节通过读取来确认输入流尚未结束；
+     * 读取时输入流已经结束则说明跳过的字节数可能超过了实际剩余的字节数，此时返回的字节数只是输入流报告的字节数。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     * @throws Exception 如果跳过过程中发生错误
+     */
+    @Override
+    protected long skipSource(long n) throws Exception {
+        if (readAhead != null) return 0;
+        boolean confirm = true;
+        if (input instanceof FileInputStream) {
+            FileChannel channel = ((FileInputStream) input).getChannel();
+            try {
+                n = Math.min(n, Math.max(0, channel.size() - channel.position()));
+            } catch (IOException e) {
+                // 管道等不支持定位的文件没有大小与位置，FileInputStream#skip(long) 同样会失败
+                return this.skipByRead(n);
+            }
+            confirm = false;
+        } else {
+            n--;
+        }
+        long skipped = 0;
+        long count;
+        while (skipped < n && (count = input.skip(n - skipped)) > 0) {
+            skipped += count;
+        }
+        if (confirm && skipped == n && input.read() >= 0) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * 通过读取并丢弃数据跳过字节，用于无法定位的输入流。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数，输入流提前结束时小于 n
+     * @throws IOException 如果读取过程中发生错误
+     */
+    private long skipByRead(long n) throws IOException {
+        if (cache == null) {
+            cache = new byte[(int) Math.min(n, 8192)];
+        }
+        long skipped = 0;
+        int read;
+        while (skipped < n && (read = input.read(cache, 0, (int) Math.min(n - skipped, cache.length))) >= 0) {
+            skipped += read;
+        }
+        return skipped;
+    }
+
     /**
      * 关闭资源。此方法应释放与该加载器关联的所有资源。
-     * 在此类中，它会关闭底层的输入流。
+     * 在此类中，它会关闭底层的输入流，然后停止预读线程并归还预读缓冲区。
+     * 先关闭输入流可以让阻塞在读取中的预读线程尽快退出。
      *
      * @throws Exception 如果关闭过程中发生错误
      */
     @Override
     public void close() throws Exception {
-        this.input.close();
+        try {
+            this.input.close();
+        } finally {
+            if (readAhead != null) {
+                readAhead.close();
+            }
+            super.close();
+        }
     }
 }
@@ -3,11 +3,13 @@ package com.github.zhitron.byte_loader.impl;
 import com.github.zhitron.byte_loader.ByteLoader;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 /**
  * ByteLoaderByIntArray 是一个具体的 ByteLoader 实现，用于从 int 数组中加载字节数据。
- * 该类将每个 int 值拆分为 4 个字节，并按大端序（Big Endian）顺序写入 ByteBuffer。
+ * 该类将每个 int 值拆分为 4 个字节，并按指定的字节序（默认为大端序）写入 ByteBuffer。
+ * 数据通过 ByteBuffer 的类型视图批量写入，而不是逐个字节写入。
  *
  * @author zhitron
  */
@@ -17,20 +19,72 @@ public class ByteLoaderByIntArray extends ByteLoader {
      */
     private final int[] input;
 
+    /**
+     * 写入缓冲区时使用的字节序。
+     */
+    private final ByteOrder order;
+
+    /**
+     * 读取范围在数组中的起始下标（包含）。
+     */
+    private final int start;
+
+    /**
+     * 读取范围在数组中的结束下标（不包含）。
+     */
+    private final int end;
+
     /**
      * 当前处理的偏移量，表示已经处理到 input 数组的哪个位置。
      */
-    private int offset = 0;
+    private int offset;
 
     /**
-     * 构造一个新的 ByteLoaderByIntArray 实例。
+     * 缓冲区的剩余空间不足一个元素时，暂存该元素中尚未写入缓冲区的字节，下一次加载时首先写入。
+     */
+    private final ByteBuffer spill = ByteBuffer.allocate(4).limit(0);
+
+    /**
+     * 构造一个新的 ByteLoaderByIntArray 实例，按大端序写入。
      *
      * @param input      输入的整型数组
      * @param bufferSize 缓冲区大小，必须大于等于 4
      */
     public ByteLoaderByIntArray(int[] input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, ByteOrder.BIG_ENDIAN, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByIntArray 实例，按指定的字节序写入。
+     *
+     * @param input      输入的整型数组
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于等于 4
+     */
+    public ByteLoaderByIntArray(int[] input, ByteOrder order, int bufferSize) {
+        this(input, 0, input.length, order, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByIntArray 实例，只读取数组中的指定范围，按指定的字节序写入。
+     *
+     * @param input      输入的整型数组
+     * @param offset     读取范围的起始下标
+     * @param length     读取范围的元素个数
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于等于 4
+     * @throws IndexOutOfBoundsException 如果读取范围超出数组范围
+     */
+    public ByteLoaderByIntArray(int[] input, int offset, int length, ByteOrder order, int bufferSize) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(order);
+            Objects.checkFromIndexSize(offset, length, input.length);
+        }));
+        this.input = input;
+        this.order = order;
+        this.start = offset;
+        this.end = offset + length;
+        this.offset = offset;
     }
 
     /**
@@ -53,17 +107,102 @@ public class ByteLoaderByIntArray extends ByteLoader {
      */
     @Override
     protected void load(ByteBuffer buffer) throws Exception {
+        this.putSpill(buffer);
         int remaining = buffer.remaining();
-        int available = input.length - offset;
+        int available = end - offset;
         if (available <= 0 || remaining <= 0) return;
-        int max = Math.min(available, remaining / 4);
-        for (int i = 0; i < max; i++) {
-            int value = input[offset + i];
-            buffer.put((byte) (value >> 24));
-            buffer.put((byte) (value >> 16));
-            buffer.put((byte) (value >> 8));
-            buffer.put((byte) value);
+        if (remaining < 4) {
+            // 剩余空间不足一个元素，先写入能够容纳的字节，其余字节暂存到下一次加载
+            spill.clear().order(order).putInt(input[offset++]).flip();
+            this.putSpill(buffer);
+            return;
         }
+        int max = Math.min(available, remaining / 4);
+        buffer.slice().order(order).asIntBuffer().put(input, offset, max);
+        buffer.position(buffer.position() + (max << 2));
         offset += max;
     }
+
+    /**
+     * 将暂存的字节写入指定的缓冲区，最多写满缓冲区的剩余空间。
+     *
+     * @param buffer 要填充数据的 Buffer
+     */
+    private void putSpill(ByteBuffer buffer) {
+        int len = Math.min(spill.remaining(), buffer.remaining());
+        if (len <= 0) return;
+        buffer.put(buffer.position(), spill, spill.position(), len);
+        buffer.position(buffer.position() + len);
+        spill.position(spill.position() + len);
+    }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节，先跳过暂存的字节，再跳过完整的元素。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        int spilled = (int) Math.min(n, spill.remaining());
+        spill.position(spill.position() + spilled);
+        int count = (int) Math.min((n - spilled) >> 2, end - offset);
+        offset += count;
+        return spilled + ((long) count << 2);
+    }
+
+    /**
+     * 直接移动读取位置，目标位置已按元素大小对齐。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 固定为 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        spill.limit(0);
+        offset = start + (int) (position >> 2);
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即读取范围内的元素个数乘以 4。
+     *
+     * @return 数据源的总字节数
+     */
+    @Override
+    protected long sourceLength() {
+        return (long) (end - start) * 4;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数
+     */
+    @Override
+    protected long sourcePosition() {
+        return (long) (offset - start) * 4 - spill.remaining();
+    }
+
+    /**
+     * 获取划分数据源时区间边界需要满足的对齐字节数，即每个 int 的字节数。
+     *
+     * @return 固定为 4
+     */
+    @Override
+    protected int sourceAlignment() {
+        return 4;
+    }
+
+    /**
+     * 为数组中指定的字节区间创建一个新的加载器，两者共享同一个数组并使用相同的字节序。
+     *
+     * @param from 区间起点（包含），为 4 的倍数
+     * @param to   区间终点（不包含），为 4 的倍数
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        return new ByteLoaderByIntArray(input, start + (int) (from / 4), (int) ((to - from) / 4), order, bufferSize());
+    }
 }
@@ -3,11 +3,13 @@ package com.github.zhitron.byte_loader.impl;
 import com.github.zhitron.byte_loader.ByteLoader;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 /**
  * ByteLoaderByLongArray 是一个具体的 ByteLoader 实现，用于从 long 数组中加载字节数据。
- * 该类将每个 long 值拆分为 8 个字节，并按大端序（Big Endian）顺序写入 ByteBuffer。
+ * 该类将每个 long 值拆分为 8 个字节，并按指定的字节序（默认为大端序）写入 ByteBuffer。
+ * 数据通过 ByteBuffer 的类型视图批量写入，而不是逐个字节写入。
  *
  * @author zhitron
  */
@@ -18,21 +20,73 @@ public class ByteLoaderByLongArray extends ByteLoader {
      */
     private final long[] input;
 
+    /**
+     * 写入缓冲区时使用的字节序。
+     */
+    private final ByteOrder order;
+
+    /**
+     * 读取范围在数组中的起始下标（包含）。
+     */
+    private final int start;
+
+    /**
+     * 读取范围在数组中的结束下标（不包含）。
+     */
+    private final int end;
+
     /**
      * 当前处理的偏移量，表示已读取的 long 元素数量。
      * 每次 load 调用后递增，确保按顺序读取数据。
      */
-    private int offset = 0;
+    private int offset;
 
     /**
-     * 构造一个新的 ByteLoaderByLongArray 实例。
+     * 缓冲区的剩余空间不足一个元素时，暂存该元素中尚未写入缓冲区的字节，下一次加载时首先写入。
+     */
+    private final ByteBuffer spill = ByteBuffer.allocate(8).limit(0);
+
+    /**
+     * 构造一个新的 ByteLoaderByLongArray 实例，按大端序写入。
      *
      * @param input      包含原始 long 数据的数组
      * @param bufferSize 缓冲区大小，必须大于 8
      */
     public ByteLoaderByLongArray(long[] input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, ByteOrder.BIG_ENDIAN, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByLongArray 实例，按指定的字节序写入。
+     *
+     * @param input      包含原始 long 数据的数组
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 8
+     */
+    public ByteLoaderByLongArray(long[] input, ByteOrder order, int bufferSize) {
+        this(input, 0, input.length, order, bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByLongArray 实例，只读取数组中的指定范围，按指定的字节序写入。
+     *
+     * @param input      包含原始 long 数据的数组
+     * @param offset     读取范围的起始下标
+     * @param length     读取范围的元素个数
+     * @param order      写入时使用的字节序，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 8
+     * @throws IndexOutOfBoundsException 如果读取范围超出数组范围
+     */
+    public ByteLoaderByLongArray(long[] input, int offset, int length, ByteOrder order, int bufferSize) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(order);
+            Objects.checkFromIndexSize(offset, length, input.length);
+        }));
+        this.input = input;
+        this.order = order;
+        this.start = offset;
+        this.end = offset + length;
+        this.offset = offset;
     }
 
     /**
@@ -48,28 +102,109 @@ public class ByteLoaderByLongArray extends ByteLoader {
 
     /**
      * 从数据源（long 数组）加载字节数据到指定的缓冲区。
-     * 将每个 long 值拆分为 8 个字节，并按大端序写入缓冲区。
+     * 将每个 long 值拆分为 8 个字节，并按指定的字节序通过类型视图批量写入缓冲区。
      *
      * @param buffer 要填充数据的 Buffer
      * @throws Exception 如果加载过程中发生错误
      */
     @Override
     protected void load(ByteBuffer buffer) throws Exception {
+        this.putSpill(buffer);
         int remaining = buffer.remaining();
-        int available = input.length - offset;
+        int available = end - offset;
         if (available <= 0 || remaining <= 0) return;
-        int max = Math.min(available, remaining / 8);
-        for (int i = 0; i < max; i++) {
-            long value = input[offset + i];
-            buffer.put((byte) (value >> 56));
-            buffer.put((byte) (value >> 48));
-            buffer.put((byte) (value >> 40));
-            buffer.put((byte) (value >> 32));
-            buffer.put((byte) (value >> 24));
-            buffer.put((byte) (value >> 16));
-            buffer.put((byte) (value >> 8));
-            buffer.put((byte) value);
+        if (remaining < 8) {
+            // 剩余空间不足一个元素，先写入能够容纳的字节，其余字节暂存到下一次加载
+            spill.clear().order(order).putLong(input[offset++]).flip();
+            this.putSpill(buffer);
+            return;
         }
+        int max = Math.min(available, remaining / 8);
+        buffer.slice().order(order).asLongBuffer().put(input, offset, max);
+        buffer.position(buffer.position() + (max << 3));
         offset += max;
     }
+
+    /**
+     * 将暂存的字节写入指定的缓冲区，最多写满缓冲区的剩余空间。
+     *
+     * @param buffer 要填充数据的 Buffer
+     */
+    private void putSpill(ByteBuffer buffer) {
+        int len = Math.min(spill.remaining(), buffer.remaining());
+        if (len <= 0) return;
+        buffer.put(buffer.position(), spill, spill.position(), len);
+        buffer.position(buffer.position() + len);
+        spill.position(spill.position() + len);
+    }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节，先跳过暂存的字节，再跳过完整的元素。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        int spilled = (int) Math.min(n, spill.remaining());
+        spill.position(spill.position() + spilled);
+        int count = (int) Math.min((n - spilled) >> 3, end - offset);
+        offset += count;
+        return spilled + ((long) count << 3);
+    }
+
+    /**
+     * 直接移动读取位置，目标位置已按元素大小对齐。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 固定为 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        spill.limit(0);
+        offset = start + (int) (position >> 3);
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即读取范围内的元素个数乘以 8。
+     *
+     * @return 数据源的总字节数
+     */
+    @Override
+    protected long sourceLength() {
+        return (long) (end - start) * 8;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数
+     */
+    @Override
+    protected long sourcePosition() {
+        return (long) (offset - start) * 8 - spill.remaining();
+    }
+
+    /**
+     * 获取划分数据源时区间边界需要满足的对齐字节数，即每个 long 的字节数。
+     *
+     * @return 固定为 8
+     */
+    @Override
+    protected int sourceAlignment() {
+        return 8;
+    }
+
+    /**
+     * 为数组中指定的字节区间创建一个新的加载器，两者共享同一个数组并使用相同的字节序。
+     *
+     * @param from 区间起点（包含），为 8 的倍数
+     * @param to   区间终点（不包含），为 8 的倍数
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        return new ByteLoaderByLongArray(input, start + (int) (from / 8), (int) ((to - from) / 8), order, bufferSize());
+    }
 }
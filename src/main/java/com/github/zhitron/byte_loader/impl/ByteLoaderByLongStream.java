@@ -28,8 +28,18 @@ public class ByteLoaderByLongStream extends ByteLoader {
      * @param bufferSize 缓冲区大小，必须大于 8
      */
     public ByteLoaderByLongStream(LongStream input, int bufferSize) {
+        this(Objects.requireNonNull(input).iterator(), bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByLongStream 实例，迭代器在借出内部缓冲区之前获取。
+     *
+     * @param input      迭代流中元素的迭代器
+     * @param bufferSize 缓冲区大小
+     */
+    private ByteLoaderByLongStream(PrimitiveIterator.OfLong input, int bufferSize) {
         super(bufferSize);
-        this.input = Objects.requireNonNull(input).iterator();
+        this.input = input;
     }
 
     /**
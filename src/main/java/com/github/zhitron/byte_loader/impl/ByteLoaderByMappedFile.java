@@ -0,0 +1,254 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * ByteLoaderByMappedFile 是一个具体的 ByteLoader 实现，通过内存映射的方式从文件中加载字节数据。
+ * 文件按固定大小的窗口分段映射，读取越过当前窗口时重新映射下一段，因此可以处理超过 2 GB 的文件。
+ * 相比基于 InputStream 的实现，它不需要中间的堆内存缓存，也不会在每次填充时产生系统调用。
+ *
+ * @author zhitron
+ */
+public class ByteLoaderByMappedFile extends ByteLoader {
+    /**
+     * 默认的映射窗口大小，为 64 MB。
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    /**
+     * 被映射的文件路径，划分时用于为子加载器打开独立的文件通道。
+     */
+    private final Path path;
+
+    /**
+     * 被映射的文件通道，在关闭加载器时一并关闭。
+     */
+    private final FileChannel input;
+
+    /**
+     * 每次映射的窗口大小，不能超过 {@link Integer#MAX_VALUE}。
+     */
+    private final long windowSize;
+
+    /**
+     * 读取范围在文件中的起始位置（包含）。
+     */
+    private final long start;
+
+    /**
+     * 读取范围在文件中的结束位置（不包含），在构造时确定。
+     */
+    private final long end;
+
+    /**
+     * 下一个要加载的字节在文件中的位置。
+     */
+    private long offset;
+
+    /**
+     * 当前映射的窗口，首次加载时才进行映射。
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * 当前映射窗口在文件中的起始位置。
+     */
+    private long windowStart;
+
+    /**
+     * 构造一个新的 ByteLoaderByMappedFile 实例，使用默认的映射窗口大小。
+     *
+     * @param input      要读取的文件路径，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @throws IOException 如果打开文件时发生错误
+     */
+    public ByteLoaderByMappedFile(Path input, int bufferSize) throws IOException {
+        this(input, bufferSize, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByMappedFile 实例，指定映射窗口大小。
+     *
+     * @param input      要读取的文件路径，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param windowSize 映射窗口大小，必须在 (0, Integer.MAX_VALUE] 范围内
+     * @throws IOException              如果打开文件时发生错误
+     * @throws IllegalArgumentException 如果 windowSize 超出范围
+     */
+    public ByteLoaderByMappedFile(Path input, int bufferSize, long windowSize) throws IOException {
+        this(input, 0, -1, bufferSize, windowSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByMappedFile 实例，只读取文件中的指定范围。
+     *
+     * @param input      要读取的文件路径，不能为 null
+     * @param offset     读取范围在文件中的起始位置
+     * @param length     读取范围的长度，为 -1 时表示读取到文件末尾
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param windowSize 映射窗口大小，必须在 (0, Integer.MAX_VALUE] 范围内
+     * @throws IOException               如果打开文件时发生错误
+     * @throws IllegalArgumentException  如果 windowSize 超出范围
+     * @throws IndexOutOfBoundsException 如果读取范围超出文件范围
+     */
+    @SuppressWarnings("this-escape") // 打开文件失败时只调用 ByteLoader#close() 归还缓冲区
+    public ByteLoaderByMappedFile(Path input, long offset, long length, int bufferSize, long windowSize) throws IOException {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(input);
+            if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("windowSize out of range at (0," + Integer.MAX_VALUE + "]");
+            }
+        }));
+        this.windowSize = windowSize;
+        this.path = input;
+        try {
+            this.input = FileChannel.open(input, StandardOpenOption.READ);
+            try {
+                long size = this.input.size();
+                if (length == -1) length = size - offset;
+                this.start = Objects.checkFromIndexSize(offset, length, size);
+            } catch (IOException | RuntimeException e) {
+                this.input.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            // 构造失败时不会再调用 close()，需要归还已经借出的内部缓冲区
+            try {
+                super.close();
+            } catch (Exception suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        this.end = offset + length;
+        this.offset = offset;
+    }
+
+    /**
+     * 从数据源加载字节数据到指定的缓冲区。
+     * 数据直接从映射窗口批量复制到缓冲区，当窗口中的数据被读完时映射下一个窗口。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @throws Exception 如果加载过程中发生错误
+     */
+    @Override
+    protected void load(ByteBuffer buffer) throws Exception {
+        while (buffer.hasRemaining() && offset < end) {
+            if (window == null || offset < windowStart || offset >= windowStart + window.capacity()) {
+                windowStart = offset;
+                window = input.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, end - offset));
+            }
+            int index = (int) (offset - windowStart);
+            int len = Math.min(buffer.remaining(), window.capacity() - index);
+            buffer.put(buffer.position(), window, index, len);
+            buffer.position(buffer.position() + len);
+            offset += len;
+        }
+    }
+
+    /**
+     * 直接移动读取位置来跳过尚未加载的字节。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     */
+    @Override
+    protected long skipSource(long n) {
+        long count = Math.min(n, end - offset);
+        offset += count;
+        return count;
+    }
+
+    /**
+     * 直接移动读取位置。
+     *
+     * @param position 目标位置，相对于读取范围的起点
+     * @return 固定为 true
+     */
+    @Override
+    protected boolean seekSource(long position) {
+        offset = start + position;
+        return true;
+    }
+
+    /**
+     * 获取数据源的总字节数，即读取范围的长度。
+     *
+     * @return 数据源的总字节数
+     */
+    @Override
+    protected long sourceLength() {
+        return end - start;
+    }
+
+    /**
+     * 获取已经从数据源加载的字节数。
+     *
+     * @return 已加载的字节数
+     */
+    @Override
+    protected long sourcePosition() {
+        return offset - start;
+    }
+
+    /**
+     * 为文件中指定的字节区间创建一个新的加载器，新加载器打开自己的文件通道。
+     *
+     * @param from 区间起点（包含）
+     * @param to   区间终点（不包含）
+     * @return 新的加载器
+     */
+    @Override
+    protected ByteLoader createSplit(long from, long to) {
+        try {
+            return new ByteLoaderByMappedFile(path, start + from, to - from, bufferSize(), windowSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 通过 {@link FileChannel#transferTo(long, long, WritableByteChannel)} 将尚未加载的字节直接传输到目标通道，
+     * 操作系统支持时由内核完成零拷贝传输。
+     *
+     * @param target 目标通道
+     * @return 实际传输的字节数
+     * @throws IOException 如果传输过程中发生错误
+     */
+    @Override
+    protected long transferSource(WritableByteChannel target) throws IOException {
+        long total = 0;
+        long count;
+        while (offset < end && (count = input.transferTo(offset, end - offset, target)) > 0) {
+            offset += count;
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 关闭资源。此方法应释放与该加载器关联的所有资源。
+     * 在此类中，它会关闭底层的文件通道并释放对映射窗口的引用。
+     *
+     * @throws Exception 如果关闭过程中发生错误
+     */
+    @Override
+    public void close() throws Exception {
+        this.window = null;
+        try {
+            this.input.close();
+        } finally {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * ByteLoaderByPublisher 是一个订阅 {@link Flow.Publisher} 并加载其发布的字节数据的 ByteLoader 实现。
+ * 第一次加载时才订阅，先请求 prefetch 个元素；之后每当一个元素的字节全部加载到内部缓冲区中，
+ * 即内部缓冲区中的数据被读取后需要重新填充时，才再请求一个元素，因此发布者的速度受读取速度的背压控制，
+ * 已接收但尚未加载的元素不会超过 prefetch 个。
+ *
+ * @author zhitron
+ */
+public class ByteLoaderByPublisher extends ByteLoader {
+    /**
+     * 表示发布已经结束（或出错）的标记缓冲区。
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    /**
+     * 发布字节数据的发布者，订阅后置为 null。
+     */
+    private Flow.Publisher<? extends ByteBuffer> publisher;
+
+    /**
+     * 订阅开始时请求的元素数量。
+     */
+    private final int prefetch;
+
+    /**
+     * 已经接收、等待加载的元素。
+     */
+    private final BlockingQueue<ByteBuffer> received = new LinkedBlockingQueue<>();
+
+    /**
+     * 当前的订阅，订阅开始前为 null。
+     */
+    private volatile Flow.Subscription subscription;
+
+    /**
+     * 发布者传递的错误，没有错误时为 null。
+     */
+    private volatile Throwable failure;
+
+    /**
+     * 是否已经关闭。
+     */
+    private volatile boolean closed;
+
+    /**
+     * 当前正在加载的元素。
+     */
+    private ByteBuffer current;
+
+    /**
+     * 是否已经收到结束标记。
+     */
+    private boolean finished;
+
+    /**
+     * 构造一个新的 ByteLoaderByPublisher 实例。
+     *
+     * @param publisher  发布字节数据的发布者，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param prefetch   订阅开始时请求的元素数量，必须大于 0
+     * @throws IllegalArgumentException 如果 prefetch 小于等于 0
+     */
+    public ByteLoaderByPublisher(Flow.Publisher<? extends ByteBuffer> publisher, int bufferSize, int prefetch) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(publisher);
+            if (prefetch <= 0) {
+                throw new IllegalArgumentException("prefetch must be greater than 0");
+            }
+        }));
+        this.publisher = publisher;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * 从接收到的元素中加载字节数据到指定的缓冲区。当前元素加载完时请求下一个元素，没有可用的元素时等待发布者。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @throws Exception 如果发布者传递了错误，或者等待时被中断
+     */
+    @Override
+    protected void load(ByteBuffer buffer) throws Exception {
+        if (!buffer.hasRemaining()) return;
+        Flow.Publisher<? extends ByteBuffer> publisher = this.publisher;
+        if (publisher != null) {
+            this.publisher = null;
+            publisher.subscribe(new Subscriber());
+        }
+        while (current == null || !current.hasRemaining()) {
+            if (finished) {
+                this.end();
+                return;
+            }
+            if (current != null) {
+                current = null;
+                subscription.request(1);
+            }
+            ByteBuffer next;
+            try {
+                next = received.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            if (next == END) {
+                finished = true;
+                this.end();
+                return;
+            }
+            current = next;
+        }
+        int len = Math.min(buffer.remaining(), current.remaining());
+        buffer.put(buffer.position(), current, current.position(), len);
+        buffer.position(buffer.position() + len);
+        current.position(current.position() + len);
+    }
+
+    /**
+     * 处理发布结束的情况：如果发布者传递了错误则抛出对应的异常。
+     *
+     * @throws Exception 如果发布者传递了错误
+     */
+    private void end() throws Exception {
+        Throwable failure = this.failure;
+        if (failure == null) return;
+        if (failure instanceof Exception e) throw e;
+        if (failure instanceof Error e) throw e;
+        throw new RuntimeException(failure);
+    }
+
+    /**
+     * 关闭资源。此实现取消订阅。
+     *
+     * @throws Exception 如果关闭过程中发生错误
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            this.closed = true;
+            Flow.Subscription subscription = this.subscription;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * 将发布者的信号转交给加载器的订阅者。
+     */
+    private final class Subscriber implements Flow.Subscriber<ByteBuffer> {
+        /**
+         * 保存订阅并请求最初的 prefetch 个元素。加载器已经关闭或已有订阅时取消该订阅。
+         *
+         * @param subscription 订阅
+         */
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (ByteLoaderByPublisher.this.subscription != null || closed) {
+                subscription.cancel();
+                return;
+            }
+            ByteLoaderByPublisher.this.subscription = subscription;
+            subscription.request(prefetch);
+        }
+
+        /**
+         * 接收一个元素，空元素会被忽略并立即请求下一个元素。
+         * 只读取元素的剩余字节，不改变元素自身的位置，同一个元素可以同时发布给多个订阅者。
+         *
+         * @param item 发布的字节数据
+         */
+        @Override
+        public void onNext(ByteBuffer item) {
+            if (item.hasRemaining()) {
+                received.add(item.slice());
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        /**
+         * 记录发布者传递的错误并结束加载。
+         *
+         * @param throwable 发生的错误
+         */
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            received.add(END);
+        }
+
+        /**
+         * 结束加载。
+         */
+        @Override
+        public void onComplete() {
+            received.add(END);
+        }
+    }
+}
@@ -2,14 +2,27 @@ package com.github.zhitron.byte_loader.impl;
 
 import com.github.zhitron.byte_loader.ByteLoader;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
 import java.util.Objects;
 
 /**
  * ByteLoaderByReadableByteChannel 是 ByteLoader 的一个实现类，
  * 通过 ReadableByteChannel 读取字节数据。该类负责从指定的通道中加载数据到缓冲区，
  * 并在数据读取完成后正确关闭通道以释放资源。
+ * 开启预读模式时，由后台虚拟线程提前读取下一批数据，使通道的阻塞读取与数据处理重叠进行。
+ * <p>
+ * 通道为非阻塞的 {@link SelectableChannel} 时（例如通过 {@link #register(Selector)} 注册到选择器后），
+ * {@link #tryPeek(int)} 与 {@link #tryPop(int)} 在暂时没有可读数据时立即返回 {@link #WOULD_BLOCK}，
+ * 单个选择器线程可以同时驱动大量加载器；其他读取方法仍然会等待数据可读，而不会把读取到 0 个字节误认为流末尾。
  *
  * @author zhitron
  */
@@ -20,6 +33,21 @@ public class ByteLoaderByReadableByteChannel extends ByteLoader {
      */
     private final ReadableByteChannel input;
 
+    /**
+     * 预读模式下执行预读的对象，未开启预读时为 null。
+     */
+    private final ReadAhead readAhead;
+
+    /**
+     * 已经从通道中读取、跳过或传输的字节数，用于将加载器的读取位置换算为通道的位置。
+     */
+    private long consumed;
+
+    /**
+     * 非阻塞通道上的阻塞读取用于等待数据可读的选择器，第一次需要等待时才打开。
+     */
+    private Selector waiter;
+
     /**
      * 构造一个新的 ByteLoaderByReadableByteChannel 实例。
      *
@@ -27,8 +55,20 @@ public class ByteLoaderByReadableByteChannel extends ByteLoader {
      * @param bufferSize 缓冲区大小，必须大于 0
      */
     public ByteLoaderByReadableByteChannel(ReadableByteChannel input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        this(input, bufferSize, false);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByReadableByteChannel 实例，指定是否开启预读模式。
+     *
+     * @param input      提供字节数据的可读通道，不能为 null
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param readAhead  是否开启预读模式
+     */
+    public ByteLoaderByReadableByteChannel(ReadableByteChannel input, int bufferSize, boolean readAhead) {
+        super(checkArguments(bufferSize, () -> Objects.requireNonNull(input)));
+        this.input = input;
+        this.readAhead = readAhead ? new ReadAhead(this.input::read, bufferSize) : null;
     }
 
     /**
@@ -41,17 +81,174 @@ public class ByteLoaderByReadableByteChannel extends ByteLoader {
     protected void load(ByteBuffer buffer) throws Exception {
         int remaining = buffer.remaining();
         if (remaining <= 0) return;
+        if (readAhead != null) {
+            readAhead.transfer(buffer);
+            return;
+        }
+        int read;
+        while ((read = input.read(buffer)) == 0 && this.isNonBlocking()) {
+            // 非阻塞通道读取到 0 个字节不代表流末尾，等待通道可读后再次读取
+            this.awaitReadable();
+        }
+        if (read > 0) {
+            consumed += read;
+        }
+    }
+
+    /**
+     * 以非阻塞方式从通道加载字节数据。通道为非阻塞时只读取一次，暂时没有可读数据时返回 0。
+     * 启用预读或通道为阻塞模式时与 {@link #load(ByteBuffer)} 相同。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @return 加载的字节数，到达流末尾时返回 -1，暂时没有可读数据时返回 0
+     * @throws Exception 如果加载过程中发生错误
+     */
+    @Override
+    protected int tryLoad(ByteBuffer buffer) throws Exception {
+        if (readAhead != null || !this.isNonBlocking()) {
+            return super.tryLoad(buffer);
+        }
         int read = input.read(buffer);
+        if (read > 0) {
+            consumed += read;
+        }
+        return read;
+    }
+
+    /**
+     * 将通道切换为非阻塞模式并注册到指定的选择器，关注可读事件，附件为本加载器。
+     * 选择器报告可读后，可以通过 {@link #tryPeek(int)} 与 {@link #tryPop(int)} 读取，直到返回 {@link #WOULD_BLOCK}。
+     *
+     * @param selector 选择器
+     * @return 注册得到的选择键
+     * @throws IOException                   如果切换模式或注册时发生错误
+     * @throws UnsupportedOperationException 如果通道不是 {@link SelectableChannel}
+     * @throws IllegalStateException         如果开启了预读模式
+     */
+    public final SelectionKey register(Selector selector) throws IOException {
+        if (!(input instanceof SelectableChannel)) {
+            throw new UnsupportedOperationException(input.getClass().getName() + " is not a SelectableChannel");
+        }
+        if (readAhead != null) {
+            throw new IllegalStateException("Read-ahead loader can not be registered with a selector");
+        }
+        SelectableChannel channel = (SelectableChannel) input;
+        channel.configureBlocking(false);
+        return channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    /**
+     * 判断通道是否为非阻塞模式。
+     *
+     * @return 通道为非阻塞的 {@link SelectableChannel} 时返回 true
+     */
+    private boolean isNonBlocking() {
+        return input instanceof SelectableChannel && !((SelectableChannel) input).isBlocking();
+    }
+
+    /**
+     * 通过私有的选择器等待非阻塞通道可读。
+     *
+     * @throws IOException 如果等待时发生错误，或者等待时被中断
+     */
+    private void awaitReadable() throws IOException {
+        SelectableChannel channel = (SelectableChannel) input;
+        Selector waiter = this.waiter;
+        if (waiter == null) {
+            this.waiter = waiter = channel.provider().openSelector();
+        }
+        SelectionKey key = channel.keyFor(waiter);
+        if (key == null) {
+            key = channel.register(waiter, SelectionKey.OP_READ);
+        }
+        waiter.select();
+        waiter.selectedKeys().remove(key);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Interrupted while waiting for channel to be readable");
+        }
+    }
+
+    /**
+     * 数据源为 {@link SeekableByteChannel} 时通过移动其位置跳过尚未加载的字节，最多移动到通道末尾。
+     * 启用预读时后台线程已经读取了后续数据，因此不直接跳过。
+     *
+     * @param n 要跳过的字节数
+     * @return 实际跳过的字节数
+     * @throws Exception 如果跳过过程中发生错误
+     */
+    @Override
+    protected long skipSource(long n) throws Exception {
+        if (readAhead != null || !(input instanceof SeekableByteChannel)) return 0;
+        SeekableByteChannel channel = (SeekableByteChannel) input;
+        long position = channel.position();
+        long count = Math.max(0, Math.min(n, channel.size() - position));
+        channel.position(position + count);
+        consumed += count;
+        return count;
+    }
+
+    /**
+     * 数据源为 {@link FileChannel} 时通过 {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+     * 将尚未加载的字节直接传输到目标通道，并将文件通道的位置移动到传输结束处。
+     * 启用预读时后台线程已经读取了后续数据，因此不直接传输。
+     *
+     * @param target 目标通道
+     * @return 实际传输的字节数
+     * @throws IOException 如果传输过程中发生错误
+     */
+    @Override
+    protected long transferSource(WritableByteChannel target) throws IOException {
+        if (readAhead != null || !(input instanceof FileChannel)) return 0;
+        FileChannel channel = (FileChannel) input;
+        long position = channel.position();
+        long size = channel.size();
+        long total = 0;
+        long count;
+        while (position < size && (count = channel.transferTo(position, size - position, target)) > 0) {
+            position += count;
+            total += count;
+        }
+        channel.position(position);
+        consumed += total;
+        return total;
+    }
+
+    /**
+     * 数据源为 {@link SeekableByteChannel} 时移动通道的位置，目标位置相对于创建加载器时通道的位置。
+     * 启用预读时后台线程已经读取了后续数据，因此不支持随机访问。
+     *
+     * @param position 目标位置
+     * @return 是否已经移动了通道的位置
+     * @throws Exception 如果移动过程中发生错误
+     */
+    @Override
+    protected boolean seekSource(long position) throws Exception {
+        if (readAhead != null || !(input instanceof SeekableByteChannel)) return false;
+        SeekableByteChannel channel = (SeekableByteChannel) input;
+        channel.position(channel.position() - consumed + position);
+        consumed = position;
+        return true;
     }
 
     /**
      * 关闭资源。此方法应释放与该加载器关联的所有资源。
-     * 默认实现为空，子类可以根据需要覆盖此方法。
+     * 此实现关闭等待用的选择器和底层的通道，然后停止预读线程并归还预读缓冲区。
+     * 先关闭通道可以让阻塞在读取中的预读线程尽快退出。
      *
      * @throws Exception 如果关闭过程中发生错误
      */
     @Override
     public void close() throws Exception {
-        this.input.close();
+        try {
+            if (waiter != null) {
+                waiter.close();
+            }
+            this.input.close();
+        } finally {
+            if (readAhead != null) {
+                readAhead.close();
+            }
+            super.close();
+        }
     }
 }
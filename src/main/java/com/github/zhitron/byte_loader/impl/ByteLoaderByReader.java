@@ -4,12 +4,15 @@ import com.github.zhitron.byte_loader.ByteLoader;
 
 import java.io.Reader;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.util.Objects;
 
 /**
  * ByteLoaderByReader 是一个用于从字符输入流中读取数据并将其转换为字节的类。
  * 该类继承自 ByteLoader，通过 Reader 实现字节数据的加载和处理。
- * 支持自动资源管理，并保证每个字符以两个字节的形式存储在缓冲区中。
+ * 默认每个字符以两个字节（UTF-16BE）的形式存储在缓冲区中；指定字符集时按该字符集流式地编码，
+ * 字符直接编码到内部缓冲区中，不会预先转换整个输入。
  *
  * @author zhitron
  */
@@ -26,6 +29,21 @@ public class ByteLoaderByReader extends ByteLoader {
      */
     private char[] cache;
 
+    /**
+     * 按指定字符集编码时使用的编码器，未指定字符集时为 null。
+     */
+    private final CharEncoder encoder;
+
+    /**
+     * 按指定字符集编码时暂存从 Reader 中读取但尚未编码的字符（读取模式）。
+     */
+    private CharBuffer chars;
+
+    /**
+     * 按指定字符集编码时是否已经读到 Reader 的末尾。
+     */
+    private boolean endOfInput;
+
     /**
      * 构造一个新的 ByteLoaderByReader 实例。
      *
@@ -33,8 +51,34 @@ public class ByteLoaderByReader extends ByteLoader {
      * @param bufferSize 缓冲区大小，必须大于 2
      */
     public ByteLoaderByReader(Reader input, int bufferSize) {
-        super(bufferSize);
-        this.input = Objects.requireNonNull(input);
+        super(checkArguments(bufferSize, () -> Objects.requireNonNull(input)));
+        this.input = input;
+        this.encoder = null;
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByReader 实例，按指定字符集编码读取到的字符。
+     *
+     * @param input      字符输入流，用于读取字符数据并转换为字节，不可为 null
+     * @param charset    编码时使用的字符集，不可为 null
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    public ByteLoaderByReader(Reader input, Charset charset, int bufferSize) {
+        this(input, new CharEncoder(charset), bufferSize);
+    }
+
+    /**
+     * 构造一个新的 ByteLoaderByReader 实例，使用指定的编码器编码读取到的字符。
+     * 编码器在借出内部缓冲区之前创建，字符集不受支持时不会借出缓冲区。
+     *
+     * @param input      字符输入流，不可为 null
+     * @param encoder    编码器
+     * @param bufferSize 缓冲区大小，必须大于 2
+     */
+    private ByteLoaderByReader(Reader input, CharEncoder encoder, int bufferSize) {
+        super(checkArguments(bufferSize, () -> Objects.requireNonNull(input)));
+        this.input = input;
+        this.encoder = encoder;
     }
 
     /**
@@ -50,8 +94,8 @@ public class ByteLoaderByReader extends ByteLoader {
     /**
      * 从数据源加载字节数据到指定的缓冲区。
      * <p>
-     * 此方法从 Reader 中读取字符数据，并将其转换为字节对（两个字节表示一个字符），
-     * 然后写入 ByteBuffer 中。每个字符占用两个字节，高位字节先写入。
+     * 未指定字符集时，此方法从 Reader 中读取字符数据，并通过 ByteBuffer 的 char 视图批量写入，
+     * 每个字符占用两个字节，高位字节先写入。指定字符集时，读取到的字符通过 {@link CharEncoder} 直接编码到缓冲区中。
      *
      * @param buffer 要填充数据的 Buffer
      * @throws Exception 如果加载过程中发生错误
@@ -60,15 +104,39 @@ public class ByteLoaderByReader extends ByteLoader {
     protected void load(ByteBuffer buffer) throws Exception {
         int remaining = buffer.remaining();
         if (remaining <= 0) return;
-        if (cache == null) {
+        if (encoder != null) {
+            this.encode(buffer);
+            return;
+        }
+        if (cache == null || cache.length < remaining >> 1) {
             cache = new char[buffer.capacity() >> 1];
         }
         int read = input.read(cache, 0, remaining >> 1);
         if (read <= 0) return;
-        for (int i = 0; i < read; i++) {
-            char value = cache[i];
-            buffer.put((byte) (value >> 8));
-            buffer.put((byte) value);
+        buffer.slice().asCharBuffer().put(cache, 0, read);
+        buffer.position(buffer.position() + (read << 1));
+    }
+
+    /**
+     * 按指定字符集编码字符到缓冲区中，暂存的字符不足以写出任何字节时才继续从 Reader 中读取。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @throws Exception 如果读取过程中发生错误
+     */
+    private void encode(ByteBuffer buffer) throws Exception {
+        if (chars == null) {
+            chars = CharBuffer.allocate(buffer.capacity()).flip();
+        }
+        while (true) {
+            int position = buffer.position();
+            encoder.encode(chars, buffer, endOfInput);
+            if (buffer.position() > position || endOfInput) return;
+            chars.compact();
+            try {
+                endOfInput = input.read(chars) < 0;
+            } finally {
+                chars.flip();
+            }
         }
     }
 
@@ -80,6 +148,10 @@ public class ByteLoaderByReader extends ByteLoader {
      */
     @Override
     public void close() throws Exception {
-        this.input.close();
+        try {
+            this.input.close();
+        } finally {
+            super.close();
+        }
     }
 }
@@ -0,0 +1,399 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ByteLoaderByRingBuffer 是一个由单生产者单消费者无锁环形缓冲区支撑的 ByteLoader 实现，用于在线程之间传递字节数据。
+ * 生产者线程通过 {@code put}/{@code offer} 方法写入字节，写完后调用 {@link #complete()} 或 {@link #fail(Throwable)}；
+ * 消费者线程通过 {@code peek}、{@code pop}、{@code nextByteValue} 等常规方法读取。
+ * 两端只通过各自的读写序号交换数据，不使用锁；缓冲区为空或已满时按照指定的 {@link WaitStrategy} 等待。
+ * <p>
+ * 同一时刻只能有一个生产者线程和一个消费者线程。
+ *
+ * @author zhitron
+ */
+public class ByteLoaderByRingBuffer extends ByteLoader {
+    /**
+     * {@link WaitStrategy#PARK} 每次休眠的纳秒数。
+     */
+    private static final long PARK_NANOS = 50_000;
+
+    /**
+     * 缓冲区为空或已满时的等待策略。
+     */
+    public enum WaitStrategy {
+        /**
+         * 忙等待，通过 {@link Thread#onSpinWait()} 提示处理器。延迟最低，但会一直占用一个处理器核心。
+         */
+        SPIN,
+        /**
+         * 每次检查失败后调用 {@link Thread#yield()} 让出处理器。
+         */
+        YIELD,
+        /**
+         * 每次检查失败后通过 {@link LockSupport#parkNanos(long)} 短暂休眠，不需要对方唤醒。
+         */
+        PARK,
+        /**
+         * 通过 {@link ReentrantLock} 与 {@link Condition} 阻塞等待，由对方在写入或读取后唤醒。
+         * 不使用 {@code synchronized}，虚拟线程阻塞时不会占用载体线程；没有线程等待时读写不需要加锁。
+         */
+        BLOCK
+    }
+
+    /**
+     * 环形缓冲区，容量为 2 的幂。两端只使用绝对位置的读写方法，不修改其位置与界限。
+     */
+    private final ByteBuffer ring;
+
+    /**
+     * 用于将序号换算为环形缓冲区下标的掩码。
+     */
+    private final int mask;
+
+    /**
+     * 等待策略。
+     */
+    private final WaitStrategy strategy;
+
+    /**
+     * 消费者已经读取的字节总数，只由消费者修改。
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * 生产者已经写入的字节总数，只由生产者修改。
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 生产者最近一次读取到的 head，用于减少对共享序号的读取。
+     */
+    private long cachedHead;
+
+    /**
+     * 消费者最近一次读取到的 tail，用于减少对共享序号的读取。
+     */
+    private long cachedTail;
+
+    /**
+     * 生产者是否已经写完全部数据。
+     */
+    private volatile boolean completed;
+
+    /**
+     * 生产者通过 {@link #fail(Throwable)} 传递的异常，没有异常时为 null。
+     */
+    private volatile Throwable failure;
+
+    /**
+     * 消费者是否已经关闭加载器。
+     */
+    private volatile boolean closed;
+
+    /**
+     * {@link WaitStrategy#BLOCK} 使用的锁，其他等待策略下为 null。
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * {@link WaitStrategy#BLOCK} 使用的等待条件，其他等待策略下为 null。
+     */
+    private final Condition condition;
+
+    /**
+     * {@link WaitStrategy#BLOCK} 下正在等待的线程数量。
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * 构造一个新的 ByteLoaderByRingBuffer 实例。
+     *
+     * @param capacity   环形缓冲区的容量，向上取整为 2 的幂，必须大于 0
+     * @param bufferSize 缓冲区大小，必须大于 0
+     * @param strategy   缓冲区为空或已满时的等待策略，不能为 null
+     * @throws IllegalArgumentException 如果 capacity 小于等于 0 或大于 2^30
+     */
+    public ByteLoaderByRingBuffer(int capacity, int bufferSize, WaitStrategy strategy) {
+        super(checkArguments(bufferSize, () -> {
+            Objects.requireNonNull(strategy);
+            if (capacity <= 0 || capacity > 1 << 30) {
+                throw new IllegalArgumentException("capacity out of range at (0," + (1 << 30) + "]");
+            }
+        }));
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.ring = ByteBuffer.allocateDirect(size);
+        this.mask = size - 1;
+        this.strategy = strategy;
+        this.lock = strategy == WaitStrategy.BLOCK ? new ReentrantLock() : null;
+        this.condition = lock != null ? lock.newCondition() : null;
+    }
+
+    /**
+     * 获取环形缓冲区的容量。
+     *
+     * @return 环形缓冲区的容量
+     */
+    public final int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 由生产者调用，写入一个字节，环形缓冲区已满时等待。
+     *
+     * @param value 要写入的字节
+     * @throws InterruptedException  如果等待时被中断
+     * @throws IllegalStateException 如果生产者已经结束写入或加载器已经关闭
+     */
+    public final void put(byte value) throws InterruptedException {
+        this.checkWritable();
+        long tail = this.tail.get();
+        if (this.free(tail) == 0) {
+            this.await(() -> this.free(tail) > 0 || closed);
+            this.checkWritable();
+        }
+        ring.put((int) tail & mask, value);
+        this.publish(tail + 1);
+    }
+
+    /**
+     * 由生产者调用，写入数组中的字节，环形缓冲区已满时等待，直到全部写入。
+     *
+     * @param src 源数组
+     * @param off 起始偏移量
+     * @param len 要写入的字节数
+     * @throws InterruptedException      如果等待时被中断
+     * @throws IllegalStateException     如果生产者已经结束写入或加载器已经关闭
+     * @throws IndexOutOfBoundsException 如果 off 或 len 超出数组范围
+     */
+    public final void put(byte[] src, int off, int len) throws InterruptedException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        this.put(ByteBuffer.wrap(src, off, len));
+    }
+
+    /**
+     * 由生产者调用，写入缓冲区中所有剩余的字节，环形缓冲区已满时等待，直到全部写入。
+     * 写入后 src 的位置移动到界限处。
+     *
+     * @param src 源缓冲区
+     * @throws InterruptedException  如果等待时被中断
+     * @throws IllegalStateException 如果生产者已经结束写入或加载器已经关闭
+     */
+    public final void put(ByteBuffer src) throws InterruptedException {
+        while (src.hasRemaining()) {
+            if (this.offer(src) == 0) {
+                long tail = this.tail.get();
+                this.await(() -> this.free(tail) > 0 || closed);
+            }
+        }
+    }
+
+    /**
+     * 由生产者调用，写入缓冲区中能够立即放入环形缓冲区的字节，不等待。
+     *
+     * @param src 源缓冲区，其位置移动到第一个未写入的字节
+     * @return 实际写入的字节数，环形缓冲区已满时返回 0
+     * @throws IllegalStateException 如果生产者已经结束写入或加载器已经关闭
+     */
+    public final int offer(ByteBuffer src) {
+        this.checkWritable();
+        long tail = this.tail.get();
+        int count = (int) Math.min(src.remaining(), this.free(tail));
+        if (count == 0) return 0;
+        int index = (int) tail & mask;
+        int first = Math.min(count, ring.capacity() - index);
+        int position = src.position();
+        ring.put(index, src, position, first);
+        if (first < count) {
+            ring.put(0, src, position + first, count - first);
+        }
+        src.position(position + count);
+        this.publish(tail + count);
+        return count;
+    }
+
+    /**
+     * 由生产者调用，表示已经写完全部数据。消费者读完环形缓冲区中剩余的字节后到达流末尾。
+     */
+    public final void complete() {
+        this.completed = true;
+        this.signal();
+    }
+
+    /**
+     * 由生产者调用，表示写入过程中发生了错误。消费者读完环形缓冲区中剩余的字节后，加载时抛出该异常。
+     *
+     * @param failure 发生的错误，不能为 null
+     */
+    public final void fail(Throwable failure) {
+        this.failure = Objects.requireNonNull(failure);
+        this.complete();
+    }
+
+    /**
+     * 从环形缓冲区加载字节数据到指定的缓冲区，环形缓冲区为空时等待生产者写入。
+     *
+     * @param buffer 要填充数据的 Buffer
+     * @throws Exception 如果生产者通过 {@link #fail(Throwable)} 传递了错误，或者等待时被中断
+     */
+    @Override
+    protected void load(ByteBuffer buffer) throws Exception {
+        if (!buffer.hasRemaining()) return;
+        long head = this.head.get();
+        if (cachedTail == head && (cachedTail = tail.get()) == head) {
+            try {
+                this.await(() -> tail.get() > head || completed);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            // completed 在最后一次写入之后设置，读取 completed 后需要重新读取 tail
+            if ((cachedTail = tail.get()) == head) {
+                Throwable failure = this.failure;
+                if (failure == null) return;
+                if (failure instanceof Exception e) throw e;
+                if (failure instanceof Error e) throw e;
+                throw new RuntimeException(failure);
+            }
+        }
+        int count = (int) Math.min(buffer.remaining(), cachedTail - head);
+        int index = (int) head & mask;
+        int first = Math.min(count, ring.capacity() - index);
+        int position = buffer.position();
+        buffer.put(position, ring, index, first);
+        if (first < count) {
+            buffer.put(position + first, ring, 0, count - first);
+        }
+        buffer.position(position + count);
+        this.head.lazySet(head + count);
+        this.signal();
+    }
+
+    /**
+     * 计算生产者可以写入的字节数，只在空间不足时才重新读取 head。
+     *
+     * @param tail 生产者当前的写入序号
+     * @return 可以写入的字节数
+     */
+    private long free(long tail) {
+        long free = ring.capacity() - (tail - cachedHead);
+        if (free == 0) {
+            cachedHead = head.get();
+            free = ring.capacity() - (tail - cachedHead);
+        }
+        return free;
+    }
+
+    /**
+     * 检查生产者是否还可以写入。
+     *
+     * @throws IllegalStateException 如果生产者已经结束写入或加载器已经关闭
+     */
+    private void checkWritable() {
+        if (completed) {
+            throw new IllegalStateException("Producer already completed");
+        }
+        if (closed) {
+            throw new IllegalStateException("Loader closed");
+        }
+    }
+
+    /**
+     * 发布生产者写入的字节，使消费者可见。
+     *
+     * @param tail 新的写入序号
+     */
+    private void publish(long tail) {
+        this.tail.lazySet(tail);
+        this.signal();
+    }
+
+    /**
+     * 按照等待策略等待，直到条件成立。
+     *
+     * @param ready 等待的条件
+     * @throws InterruptedException 如果等待时被中断
+     */
+    private void await(BooleanSupplier ready) throws InterruptedException {
+        switch (strategy) {
+            case SPIN:
+                while (!ready.getAsBoolean()) {
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    Thread.onSpinWait();
+                }
+                break;
+            case YIELD:
+                while (!ready.getAsBoolean()) {
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    Thread.yield();
+                }
+                break;
+            case PARK:
+                while (!ready.getAsBoolean()) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                break;
+            default:
+                lock.lockInterruptibly();
+                try {
+                    waiting.incrementAndGet();
+                    while (!ready.getAsBoolean()) {
+                        condition.await();
+                    }
+                } finally {
+                    waiting.decrementAndGet();
+                    lock.unlock();
+                }
+        }
+    }
+
+    /**
+     * 在 {@link WaitStrategy#BLOCK} 下唤醒正在等待的线程，没有线程等待时不加锁。
+     */
+    private void signal() {
+        if (lock == null) return;
+        // 与等待方先增加 waiting 再检查条件的顺序配合，避免丢失唤醒
+        VarHandle.fullFence();
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 关闭资源。此实现唤醒正在等待的生产者，之后的写入会抛出 {@link IllegalStateException}。
+     *
+     * @throws Exception 如果关闭过程中发生错误
+     */
+    @Override
+    public void close() throws Exception {
+        try {
+            this.closed = true;
+            this.signal();
+        } finally {
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteLoader;
+import com.github.zhitron.byte_loader.ByteLoaderListener;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ByteLoaderMetrics 是基于 {@link LongAdder} 的 {@link ByteLoaderListener} 默认实现，统计加载次数、加载字节数及其直方图、
+ * 加载耗时、压缩移动的字节数、缓冲区填充率以及读取与查看的字节数。
+ * 同一个实例可以同时用于多个加载器，并可以通过 {@link #register(String)} 注册到平台 MBeanServer 中。
+ *
+ * @author zhitron
+ */
+public class ByteLoaderMetrics implements ByteLoaderListener, ByteLoaderMetricsMBean {
+    /**
+     * 注册到 MBeanServer 时使用的域名。
+     */
+    public static final String JMX_DOMAIN = "com.github.zhitron.byte_loader";
+
+    /**
+     * 调用 load 的次数。
+     */
+    private final LongAdder loadCount = new LongAdder();
+
+    /**
+     * 通过 load 加载的字节总数。
+     */
+    private final LongAdder loadedBytes = new LongAdder();
+
+    /**
+     * 在 load 中耗费的纳秒总数。
+     */
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * 每次加载字节数的直方图，按 2 的幂次分级。
+     */
+    private final LongAdder[] loadSizes = new LongAdder[Integer.SIZE];
+
+    /**
+     * 压缩内部缓冲区时移动的字节总数。
+     */
+    private final LongAdder compactedBytes = new LongAdder();
+
+    /**
+     * 填充内部缓冲区的次数。
+     */
+    private final LongAdder fillCount = new LongAdder();
+
+    /**
+     * 每次填充后内部缓冲区填充率的总和，单位为百万分之一。
+     */
+    private final LongAdder fillRatio = new LongAdder();
+
+    /**
+     * 读取位置前进的字节总数。
+     */
+    private final LongAdder consumedBytes = new LongAdder();
+
+    /**
+     * 不移动指针地查看字节的次数。
+     */
+    private final LongAdder peekCount = new LongAdder();
+
+    /**
+     * 不移动指针地查看的字节总数。
+     */
+    private final LongAdder peekedBytes = new LongAdder();
+
+    /**
+     * 构造一个新的 ByteLoaderMetrics 实例。
+     */
+    public ByteLoaderMetrics() {
+        for (int i = 0; i < loadSizes.length; i++) {
+            loadSizes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 以指定名称将该实例注册到平台 MBeanServer 中，对象名为 {@code com.github.zhitron.byte_loader:type=ByteLoaderMetrics,name=<name>}。
+     *
+     * @param name 名称，用于区分不同的数据源
+     * @return 注册使用的对象名
+     * @throws JMException 如果名称无效或已被注册
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=ByteLoaderMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public void onLoad(ByteLoader loader, int bytes, long nanos) {
+        loadCount.increment();
+        loadedBytes.add(bytes);
+        loadNanos.add(nanos);
+        loadSizes[Integer.SIZE - Integer.numberOfLeadingZeros(bytes)].increment();
+    }
+
+    @Override
+    public void onCompact(ByteLoader loader, int bytes) {
+        compactedBytes.add(bytes);
+    }
+
+    @Override
+    public void onFill(ByteLoader loader, int buffered, int capacity) {
+        fillCount.increment();
+        if (capacity > 0) {
+            fillRatio.add(buffered * 1_000_000L / capacity);
+        }
+    }
+
+    @Override
+    public void onConsume(ByteLoader loader, long bytes) {
+        consumedBytes.add(bytes);
+    }
+
+    @Override
+    public void onPeek(ByteLoader loader, int bytes) {
+        peekCount.increment();
+        peekedBytes.add(bytes);
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    @Override
+    public long getLoadedBytes() {
+        return loadedBytes.sum();
+    }
+
+    @Override
+    public long getLoadNanos() {
+        return loadNanos.sum();
+    }
+
+    @Override
+    public long[] getLoadSizeHistogram() {
+        long[] result = new long[loadSizes.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = loadSizes[i].sum();
+        }
+        return result;
+    }
+
+    @Override
+    public long getCompactedBytes() {
+        return compactedBytes.sum();
+    }
+
+    @Override
+    public long getFillCount() {
+        return fillCount.sum();
+    }
+
+    @Override
+    public double getAverageFillRatio() {
+        long count = fillCount.sum();
+        return count == 0 ? 0 : fillRatio.sum() / 1_000_000.0 / count;
+    }
+
+    @Override
+    public long getConsumedBytes() {
+        return consumedBytes.sum();
+    }
+
+    @Override
+    public long getPeekCount() {
+        return peekCount.sum();
+    }
+
+    @Override
+    public long getPeekedBytes() {
+        return peekedBytes.sum();
+    }
+
+    @Override
+    public void reset() {
+        loadCount.reset();
+        loadedBytes.reset();
+        loadNanos.reset();
+        for (LongAdder loadSize : loadSizes) {
+            loadSize.reset();
+        }
+        compactedBytes.reset();
+        fillCount.reset();
+        fillRatio.reset();
+        consumedBytes.reset();
+        peekCount.reset();
+        peekedBytes.reset();
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.zhitron.byte_loader.impl;
+
+/**
+ * ByteLoaderMetricsMBean 是 {@link ByteLoaderMetrics} 通过 JMX 暴露的管理接口。
+ *
+ * @author zhitron
+ */
+public interface ByteLoaderMetricsMBean {
+    /**
+     * 获取调用 load 的次数。
+     *
+     * @return 调用次数
+     */
+    long getLoadCount();
+
+    /**
+     * 获取通过 load 加载的字节总数。
+     *
+     * @return 加载的字节总数
+     */
+    long getLoadedBytes();
+
+    /**
+     * 获取在 load 中耗费的纳秒总数。
+     *
+     * @return 耗费的纳秒总数
+     */
+    long getLoadNanos();
+
+    /**
+     * 获取每次加载字节数的直方图，下标为 i 的元素是加载字节数在 [2^(i-1), 2^i) 之间的次数，下标 0 为加载 0 字节的次数。
+     *
+     * @return 直方图
+     */
+    long[] getLoadSizeHistogram();
+
+    /**
+     * 获取压缩内部缓冲区时移动的字节总数。
+     *
+     * @return 移动的字节总数
+     */
+    long getCompactedBytes();
+
+    /**
+     * 获取填充内部缓冲区的次数。
+     *
+     * @return 填充次数
+     */
+    long getFillCount();
+
+    /**
+     * 获取每次填充后内部缓冲区的平均填充率。
+     *
+     * @return 0 到 1 之间的填充率，没有填充时返回 0
+     */
+    double getAverageFillRatio();
+
+    /**
+     * 获取读取位置前进的字节总数。
+     *
+     * @return 前进的字节总数
+     */
+    long getConsumedBytes();
+
+    /**
+     * 获取不移动指针地查看字节的次数。
+     *
+     * @return 查看次数
+     */
+    long getPeekCount();
+
+    /**
+     * 获取不移动指针地查看的字节总数。
+     *
+     * @return 查看的字节总数
+     */
+    long getPeekedBytes();
+
+    /**
+     * 将所有计数清零。
+     */
+    void reset();
+}
@@ -0,0 +1,185 @@
+package com.github.zhitron.byte_loader.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CharEncoder 将字符按指定的字符集流式地编码到加载器的内部缓冲区中，供基于字符的加载器使用。
+ * 对 US-ASCII、ISO-8859-1 和 UTF-8 提供快速路径：能够用单个相同值字节表示的字符直接写入缓冲区，
+ * 只有连续的其余字符才交给 {@link CharsetEncoder} 编码。
+ * 无法映射的字符与不完整的代理对会被替换为字符集的替换字节。
+ *
+ * @author zhitron
+ */
+final class CharEncoder {
+    /**
+     * 用于编码的字符集编码器，在整个加载过程中重复使用。
+     */
+    private final CharsetEncoder encoder;
+
+    /**
+     * 小于该值的字符可以直接写为一个相同值的字节，为 0 时不使用快速路径。
+     */
+    private final int directLimit;
+
+    /**
+     * 字符集是否把每个码点编码为恰好一个字节。
+     */
+    private final boolean singleByte;
+
+    /**
+     * 溢出缓冲区（读取模式），存放内部缓冲区剩余空间不足以容纳的单个字符或结束序列的编码结果。
+     */
+    private final ByteBuffer spill;
+
+    /**
+     * 是否已经写出编码器的结束序列。
+     */
+    private boolean flushed;
+
+    /**
+     * 构造一个新的 CharEncoder 实例。
+     *
+     * @param charset 字符集
+     */
+    CharEncoder(Charset charset) {
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            this.directLimit = 0x100;
+        } else if (charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.UTF_8)) {
+            this.directLimit = 0x80;
+        } else {
+            this.directLimit = 0;
+        }
+        this.singleByte = charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+        this.spill = ByteBuffer.allocate((int) Math.ceil(encoder.maxBytesPerChar()) * 2 + 16).flip();
+    }
+
+    /**
+     * 获取编码使用的字符集。
+     *
+     * @return 字符集
+     */
+    Charset charset() {
+        return encoder.charset();
+    }
+
+    /**
+     * 判断字符集是否把每个码点编码为恰好一个字节，即 US-ASCII 与 ISO-8859-1。
+     * 无法映射的字符（包括完整的代理对）与不完整的代理对都被替换为一个字节，因此编码结果的长度等于码点数。
+     *
+     * @return 每个码点都编码为一个字节时返回 true
+     */
+    boolean isSingleByte() {
+        return singleByte;
+    }
+
+    /**
+     * 重置编码器，丢弃溢出缓冲区中尚未写出的字节，以便从另一个位置重新开始编码。
+     */
+    void reset() {
+        encoder.reset();
+        spill.clear().flip();
+        flushed = false;
+    }
+
+    /**
+     * 将字符编码到缓冲区中，直到字符用完或缓冲区已满。
+     * 只要缓冲区还有剩余空间就一定会写入字节，除非剩余的字符不足以组成一个完整的字符且 endOfInput 为 false。
+     *
+     * @param input      要编码的字符，编码后其位置会移动到第一个未编码的字符
+     * @param buffer     写入模式的目标缓冲区
+     * @param endOfInput input 之后是否还有更多字符
+     */
+    void encode(CharBuffer input, ByteBuffer buffer, boolean endOfInput) {
+        if (!drain(buffer)) return;
+        while (input.hasRemaining() && buffer.hasRemaining()) {
+            int position = input.position();
+            int limit = input.limit();
+            if (directLimit > 0) {
+                int index = position;
+                int offset = buffer.position();
+                int end = position + Math.min(limit - position, buffer.remaining());
+                char value;
+                while (index < end && (value = input.get(index)) < directLimit) {
+                    buffer.put(offset++, (byte) value);
+                    index++;
+                }
+                input.position(index);
+                buffer.position(offset);
+                if (index == end) continue;
+                // 只把连续的多字节字符交给编码器，随后的单字节字符仍然走快速路径
+                int run = index + 1;
+                while (run < limit && input.get(run) >= directLimit) run++;
+                if (run < limit && Character.isHighSurrogate(input.get(run - 1))) run++;
+                input.limit(run);
+                position = index;
+            }
+            CoderResult result;
+            try {
+                result = encoder.encode(input, buffer, false);
+            } finally {
+                input.limit(limit);
+            }
+            if (input.position() == position && !(result.isOverflow() && spill(input, buffer))) {
+                // 剩余的字符不是一个完整的字符，等待更多输入
+                break;
+            }
+        }
+        if (endOfInput && !flushed && buffer.hasRemaining()) {
+            // 此时 input 中最多只剩下一个不完整的字符，由结束编码将其替换，随后写出结束序列
+            spill.clear();
+            encoder.encode(input, spill, true);
+            encoder.flush(spill);
+            spill.flip();
+            flushed = true;
+            drain(buffer);
+        }
+    }
+
+    /**
+     * 缓冲区剩余空间不足以容纳下一个字符时，将该字符编码到溢出缓冲区中，再写出能够容纳的部分。
+     *
+     * @param input  要编码的字符
+     * @param buffer 写入模式的目标缓冲区
+     * @return 是否编码了字符
+     */
+    private boolean spill(CharBuffer input, ByteBuffer buffer) {
+        int position = input.position();
+        int limit = input.limit();
+        int count = Character.isHighSurrogate(input.get(position)) && position + 1 < limit ? 2 : 1;
+        spill.clear();
+        try {
+            input.limit(position + count);
+            encoder.encode(input, spill, false);
+        } finally {
+            input.limit(limit);
+            spill.flip();
+        }
+        drain(buffer);
+        return input.position() > position;
+    }
+
+    /**
+     * 将溢出缓冲区中的字节写入目标缓冲区。
+     *
+     * @param buffer 写入模式的目标缓冲区
+     * @return 溢出缓冲区是否已经写完
+     */
+    private boolean drain(ByteBuffer buffer) {
+        if (spill.hasRemaining()) {
+            int count = Math.min(spill.remaining(), buffer.remaining());
+            buffer.put(buffer.position(), spill, spill.position(), count);
+            buffer.position(buffer.position() + count);
+            spill.position(spill.position() + count);
+        }
+        return !spill.hasRemaining();
+    }
+}
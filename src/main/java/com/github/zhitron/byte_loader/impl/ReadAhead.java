@@ -0,0 +1,220 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteBufferPool;
+import com.github.zhitron.byte_loader.ByteLoader;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ReadAhead 使用一个后台虚拟线程和两个交替使用的缓冲区实现预读。
+ * 后台线程填充一个缓冲区的同时，消费者从另一个缓冲区中取出数据，从而让 I/O 与数据处理重叠进行。
+ * 后台线程遇到的异常和数据源的结束都会按顺序传递给消费者。两个缓冲区从默认的缓冲区池中借出，关闭时归还。
+ *
+ * @author zhitron
+ */
+final class ReadAhead implements AutoCloseable {
+    /**
+     * 表示数据源已经结束（或读取失败）的标记缓冲区。
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    /**
+     * 数据源暂时没有数据（读取到 0 个字节）时后台线程第一次退避等待的纳秒数，之后每次加倍。
+     */
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    /**
+     * 后台线程退避等待的最大纳秒数。
+     */
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * 关闭时等待后台线程退出的最长时间。
+     */
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * 已由后台线程填充、等待消费者读取的缓冲区，处于读取模式。
+     * 容量比缓冲区数量多 1，保证结束标记总能放入。
+     */
+    private final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(3);
+
+    /**
+     * 消费者已读完、等待后台线程重新填充的缓冲区。
+     */
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(2);
+
+    /**
+     * 借出预读缓冲区的缓冲区池。
+     */
+    private final ByteBufferPool pool;
+
+    /**
+     * 从缓冲区池中借出的原始缓冲区，预读缓冲区是它们的切片。
+     */
+    private final ByteBuffer[] pooled = new ByteBuffer[2];
+
+    /**
+     * 执行预读的后台虚拟线程。
+     */
+    private final Thread worker;
+
+    /**
+     * 后台线程读取时发生的异常，没有异常时为 null。
+     */
+    private volatile Throwable failure;
+
+    /**
+     * 消费者当前正在读取的缓冲区。
+     */
+    private ByteBuffer current;
+
+    /**
+     * 消费者是否已经收到结束标记。
+     */
+    private boolean finished;
+
+    /**
+     * 构造一个新的 ReadAhead 实例，并立即启动后台线程开始预读。
+     *
+     * @param source     数据源
+     * @param bufferSize 每个预读缓冲区的大小，必须大于 0
+     */
+    ReadAhead(Source source, int bufferSize) {
+        this.pool = ByteLoader.getDefaultBufferPool();
+        for (int i = 0; i < pooled.length; i++) {
+            pooled[i] = pool.acquire(bufferSize);
+            free.add(pooled[i].clear().slice(0, bufferSize));
+        }
+        this.worker = Thread.ofVirtual().name("byte-loader-read-ahead").start(() -> run(source));
+    }
+
+    /**
+     * 后台线程的执行逻辑：不断取出空闲缓冲区，从数据源填充后交给消费者，直到数据源结束、读取失败或被中断。
+     * 数据源暂时没有数据（例如非阻塞通道）时按指数退避等待后再次读取，不会空转。
+     *
+     * @param source 数据源
+     */
+    private void run(Source source) {
+        try {
+            while (true) {
+                ByteBuffer buffer = free.take().clear();
+                long backoff = MIN_BACKOFF_NANOS;
+                while (buffer.position() == 0) {
+                    int read = source.read(buffer);
+                    if (read < 0) {
+                        filled.put(END);
+                        return;
+                    }
+                    if (read == 0) {
+                        LockSupport.parkNanos(backoff);
+                        if (Thread.interrupted()) return;
+                        backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+                    }
+                }
+                filled.put(buffer.flip());
+            }
+        } catch (InterruptedException e) {
+            // 已关闭，直接退出
+        } catch (Throwable e) {
+            failure = e;
+            filled.offer(END);
+        }
+    }
+
+    /**
+     * 将预读的数据复制到指定的缓冲区中。当前缓冲区读完时等待后台线程提供下一个缓冲区。
+     *
+     * @param dst 目标缓冲区
+     * @return 实际复制的字节数，数据源已结束时返回 -1
+     * @throws Exception 如果后台线程读取时发生错误，或者等待时被中断
+     */
+    int transfer(ByteBuffer dst) throws Exception {
+        while (current == null || !current.hasRemaining()) {
+            if (finished) {
+                return end();
+            }
+            if (current != null) {
+                free.add(current);
+                current = null;
+            }
+            ByteBuffer next;
+            try {
+                next = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+            if (next == END) {
+                finished = true;
+                return end();
+            }
+            current = next;
+        }
+        int len = Math.min(dst.remaining(), current.remaining());
+        dst.put(dst.position(), current, current.position(), len);
+        dst.position(dst.position() + len);
+        current.position(current.position() + len);
+        return len;
+    }
+
+    /**
+     * 处理数据源结束的情况：如果后台线程读取失败则抛出对应的异常，否则返回 -1。
+     *
+     * @return 固定返回 -1
+     * @throws Exception 如果后台线程读取时发生错误
+     */
+    private int end() throws Exception {
+        Throwable failure = this.failure;
+        if (failure == null) return -1;
+        if (failure instanceof Exception e) throw e;
+        if (failure instanceof Error e) throw e;
+        throw new RuntimeException(failure);
+    }
+
+    /**
+     * 停止后台线程并等待其退出，然后将预读缓冲区归还给缓冲区池。
+     * 正在阻塞于数据源读取的后台线程会在数据源关闭后退出，因此应先关闭数据源再调用此方法；
+     * 后台线程在 {@link #CLOSE_TIMEOUT} 内没有退出时不归还缓冲区，避免后台线程继续写入已归还的缓冲区。
+     */
+    @Override
+    public void close() {
+        worker.interrupt();
+        boolean terminated;
+        try {
+            terminated = worker.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminated = false;
+        }
+        if (!terminated) return;
+        current = null;
+        for (int i = 0; i < pooled.length; i++) {
+            ByteBuffer buffer = pooled[i];
+            if (buffer != null) {
+                pooled[i] = null;
+                pool.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * 预读的数据源。
+     */
+    @FunctionalInterface
+    interface Source {
+        /**
+         * 从数据源读取数据到指定的缓冲区中。
+         *
+         * @param buffer 要填充数据的缓冲区
+         * @return 实际读取的字节数，数据源结束时返回 -1
+         * @throws Exception 如果读取过程中发生错误
+         */
+        int read(ByteBuffer buffer) throws Exception;
+    }
+}
@@ -0,0 +1,252 @@
+package com.github.zhitron.byte_loader.impl;
+
+import com.github.zhitron.byte_loader.ByteBufferPool;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * StripedByteBufferPool 是一个按容量分级并按线程分片的直接缓冲区池。
+ * 容量按 2 的幂次分级，每个线程优先访问自己所属的分片，分片为空时再尝试从其他分片借用，
+ * 以减少多线程下的锁竞争。超过最大池化容量的请求直接分配，不进入池中。
+ *
+ * @author zhitron
+ */
+public class StripedByteBufferPool implements ByteBufferPool {
+    /**
+     * 最小的容量等级，小于该容量的请求按该容量分配。
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * 可被池化的最大容量，超过该容量的缓冲区不进入池中。
+     */
+    private final int maxPooledCapacity;
+
+    /**
+     * 每个分片中每个容量等级最多保留的缓冲区数量。
+     */
+    private final int maxBuffersPerStripe;
+
+    /**
+     * 所有分片，数量为 2 的幂次，以便通过位运算定位。
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * 借出时命中池中缓冲区的次数。
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * 借出时未命中而需要重新分配的次数。
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 归还时因池已满或缓冲区不符合要求而被丢弃的次数。
+     */
+    private final LongAdder discards = new LongAdder();
+
+    /**
+     * 构造一个使用默认配置的 StripedByteBufferPool 实例。
+     * 最大池化容量为 1 MB，每个分片的每个容量等级最多保留 8 个缓冲区，分片数量与处理器数量相当。
+     */
+    public StripedByteBufferPool() {
+        this(1 << 20, 8, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 构造一个新的 StripedByteBufferPool 实例。
+     *
+     * @param maxPooledCapacity   可被池化的最大容量，必须大于 0
+     * @param maxBuffersPerStripe 每个分片中每个容量等级最多保留的缓冲区数量，必须大于等于 0
+     * @param stripeCount         分片数量，必须大于 0，会向上取整为 2 的幂次
+     * @throws IllegalArgumentException 如果参数超出范围
+     */
+    public StripedByteBufferPool(int maxPooledCapacity, int maxBuffersPerStripe, int stripeCount) {
+        if (maxPooledCapacity <= 0 || maxPooledCapacity > 1 << 30) {
+            throw new IllegalArgumentException("maxPooledCapacity out of range at (0," + (1 << 30) + "]");
+        }
+        if (maxBuffersPerStripe < 0) {
+            throw new IllegalArgumentException("maxBuffersPerStripe must be greater than or equal to 0");
+        }
+        if (stripeCount <= 0 || stripeCount > 1 << 16) {
+            throw new IllegalArgumentException("stripeCount out of range at (0," + (1 << 16) + "]");
+        }
+        this.maxPooledCapacity = sizeClassCapacity(maxPooledCapacity);
+        this.maxBuffersPerStripe = maxBuffersPerStripe;
+        this.stripes = new Stripe[sizeClassCapacity(stripeCount)];
+        int classes = sizeClass(this.maxPooledCapacity) + 1;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(classes);
+        }
+    }
+
+    /**
+     * 借出一个直接缓冲区。优先从当前线程所属的分片中获取，其次尝试其他分片，都没有时分配新的缓冲区。
+     *
+     * @param capacity 需要的最小容量，必须大于 0
+     * @return 返回一个容量为 capacity 向上取整到 2 的幂次的直接缓冲区
+     */
+    @Override
+    public ByteBuffer acquire(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        if (capacity > maxPooledCapacity) {
+            misses.increment();
+            return ByteBuffer.allocateDirect(capacity);
+        }
+        int sizeClass = sizeClass(capacity);
+        int index = stripeIndex();
+        ByteBuffer buffer = stripes[index].poll(sizeClass, true);
+        for (int i = 1; buffer == null && i < stripes.length; i++) {
+            buffer = stripes[(index + i) & (stripes.length - 1)].poll(sizeClass, false);
+        }
+        if (buffer == null) {
+            misses.increment();
+            return ByteBuffer.allocateDirect(sizeClassCapacity(capacity));
+        }
+        hits.increment();
+        return buffer.clear();
+    }
+
+    /**
+     * 归还一个缓冲区到当前线程所属的分片中。
+     * 非直接缓冲区、容量不是 2 的幂次或超过最大池化容量的缓冲区会被丢弃。
+     *
+     * @param buffer 要归还的缓冲区
+     */
+    @Override
+    public void release(ByteBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (!buffer.isDirect() || buffer.isReadOnly() || capacity > maxPooledCapacity
+                || capacity != sizeClassCapacity(capacity)
+                || !stripes[stripeIndex()].offer(sizeClass(capacity), buffer, maxBuffersPerStripe)) {
+            discards.increment();
+        }
+    }
+
+    /**
+     * 获取借出时命中池中缓冲区的次数。
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取借出时未命中而需要重新分配的次数。
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取归还时被丢弃的缓冲区数量。
+     *
+     * @return 丢弃次数
+     */
+    public long getDiscardCount() {
+        return discards.sum();
+    }
+
+    /**
+     * 获取当前线程所属的分片下标。
+     *
+     * @return 分片下标
+     */
+    private int stripeIndex() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * 获取容量对应的等级，等级 0 对应 {@link #MIN_CAPACITY}。
+     *
+     * @param capacity 容量
+     * @return 容量等级
+     */
+    private static int sizeClass(int capacity) {
+        return Integer.numberOfTrailingZeros(sizeClassCapacity(capacity) / MIN_CAPACITY);
+    }
+
+    /**
+     * 将容量向上取整为所属等级的容量。
+     *
+     * @param capacity 容量
+     * @return 等级容量，为 2 的幂次且不小于 {@link #MIN_CAPACITY}
+     */
+    private static int sizeClassCapacity(int capacity) {
+        if (capacity <= MIN_CAPACITY) return MIN_CAPACITY;
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * 分片，每个容量等级对应一个缓冲区栈，由一把锁保护。
+     */
+    private static final class Stripe {
+        /**
+         * 保护该分片中所有缓冲区栈的锁。
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+        /**
+         * 按容量等级存放的缓冲区栈。
+         */
+        private final ArrayDeque<ByteBuffer>[] buffers;
+
+        @SuppressWarnings("unchecked")
+        private Stripe(int classes) {
+            this.buffers = (ArrayDeque<ByteBuffer>[]) new ArrayDeque<?>[classes];
+            for (int i = 0; i < classes; i++) {
+                buffers[i] = new ArrayDeque<>();
+            }
+        }
+
+        /**
+         * 取出一个指定等级的缓冲区。
+         *
+         * @param sizeClass 容量等级
+         * @param wait      是否等待锁，为 false 时锁被占用则直接放弃
+         * @return 取出的缓冲区，没有可用缓冲区时返回 null
+         */
+        private ByteBuffer poll(int sizeClass, boolean wait) {
+            if (wait) {
+                lock.lock();
+            } else if (!lock.tryLock()) {
+                return null;
+            }
+            try {
+                return buffers[sizeClass].pollFirst();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 放入一个指定等级的缓冲区。
+         *
+         * @param sizeClass 容量等级
+         * @param buffer    要放入的缓冲区
+         * @param max       该等级最多保留的缓冲区数量
+         * @return 如果放入成功返回 true，已满时返回 false
+         */
+        private boolean offer(int sizeClass, ByteBuffer buffer, int max) {
+            lock.lock();
+            try {
+                ArrayDeque<ByteBuffer> deque = buffers[sizeClass];
+                if (deque.size() >= max) return false;
+                deque.offerFirst(buffer);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
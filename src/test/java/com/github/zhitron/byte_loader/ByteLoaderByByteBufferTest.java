@@ -19,4 +19,56 @@ public class ByteLoaderByByteBufferTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testDirectAndReadOnly() throws Exception {
+        byte[] data = "Hello from direct ByteBuffer".getBytes();
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        try (ByteLoader loader = ByteLoaderFactory.of(direct.asReadOnlyBuffer(), 3)) {
+            assertArrayEquals(data, loader.toContent());
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(direct, 3)) {
+            assertArrayEquals(data, loader.toContent());
+            assertFalse(direct.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testWrap() throws Exception {
+        byte[] data = "Hello from wrapped ByteBuffer".getBytes();
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 2).put((byte) 0).put(data).flip();
+        direct.position(1).limit(data.length + 1);
+        for (ByteBuffer input : new ByteBuffer[]{direct, direct.asReadOnlyBuffer(), ByteBuffer.wrap(data)}) {
+            try (ByteLoader loader = ByteLoaderFactory.wrap(input)) {
+                assertEquals(data[data.length - 1], (byte) loader.peek(data.length - 1));
+                for (byte b : data) {
+                    assertTrue(loader.hasNextByteValue());
+                    assertEquals(b, loader.nextByteValue());
+                }
+                assertFalse(loader.hasNextByteValue());
+                assertEquals(-1, loader.read(new byte[1], 0, 1));
+            }
+        }
+        assertEquals(1, direct.position());
+    }
+
+    @Test
+    public void testWrapEnd() throws Exception {
+        try (ByteLoader loader = ByteLoaderFactory.wrap(ByteBuffer.allocate(0))) {
+            assertTrue(loader.isEmpty());
+            assertFalse(loader.hasNextByteValue());
+            assertEquals(-1, loader.pop());
+        }
+        byte[] data = {1, 2, 3};
+        try (ByteLoader wrapped = ByteLoaderFactory.wrap(ByteBuffer.wrap(data));
+             ByteLoader copied = ByteLoaderFactory.of(ByteBuffer.wrap(data))) {
+            // 超出数据末尾的偏移量与复制方式一样返回 -1
+            assertEquals(copied.peek(5), wrapped.peek(5));
+            assertEquals(-1, wrapped.peek(5));
+            assertEquals(-1, wrapped.tryPeek(3));
+            assertEquals(3, wrapped.peek(2));
+            assertEquals(-1, wrapped.pop(3));
+            assertFalse(wrapped.hasNextByteValue());
+        }
+    }
 }
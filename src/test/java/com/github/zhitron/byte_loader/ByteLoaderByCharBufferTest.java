@@ -2,7 +2,12 @@ package com.github.zhitron.byte_loader;
 
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteOrder;
 import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import static org.junit.Assert.*;
 
@@ -21,4 +26,74 @@ public class ByteLoaderByCharBufferTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testLittleEndian() throws Exception {
+        CharBuffer data = CharBuffer.wrap("Hello".toCharArray());
+        byte[] expected = new byte[]{
+                'H', 0x00, 'e', 0x00, 'l', 0x00, 'l', 0x00, 'o', 0x00
+        };
+        try (ByteLoader loader = ByteLoaderFactory.of(data, ByteOrder.LITTLE_ENDIAN, 3)) {
+            assertArrayEquals(expected, loader.toContent());
+        }
+    }
+
+    @Test
+    public void testCharset() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.append(i % 50 == 0 ? "\u00e9\u5b57\uD83D\uDE00" : "line " + i + "\n");
+        }
+        String text = builder.toString();
+        for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16LE}) {
+            byte[] expected = text.getBytes(charset);
+            try (ByteLoader loader = ByteLoaderFactory.of(text, charset, 64)) {
+                assertArrayEquals(expected, loader.toContent());
+            }
+            try (ByteLoader loader = ByteLoaderFactory.of(text.toCharArray(), charset, 7)) {
+                assertEquals(-1, loader.remaining());
+                assertArrayEquals(expected, loader.toContent());
+            }
+            try (ByteLoader loader = ByteLoaderFactory.of(CharBuffer.wrap(text), charset, 1024)) {
+                assertEquals(expected.length, loader.skip(expected.length));
+                assertTrue(loader.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testSingleByteCharset() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("line ").append(i).append(i % 10 == 0 ? "\u00e9\u5b57\n" : "\n");
+        }
+        String text = builder.toString();
+        for (Charset charset : new Charset[]{StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII}) {
+            byte[] expected = text.getBytes(charset);
+            // 每个字符恰好编码为一个字节，字节长度已知，可以预先分配、划分、跳过与定位
+            try (ByteLoader loader = ByteLoaderFactory.of(text, charset, 16)) {
+                assertEquals(text.length(), loader.remaining());
+                assertArrayEquals(expected, loader.toContent());
+            }
+            try (ByteLoader loader = ByteLoaderFactory.of(text, charset, 16)) {
+                assertEquals(10, loader.skip(10));
+                ByteArrayOutputStream joined = new ByteArrayOutputStream();
+                for (ByteLoader part : loader.split(3)) {
+                    try (part) {
+                        joined.write(part.toContent());
+                    }
+                }
+                assertArrayEquals(Arrays.copyOfRange(expected, 10, expected.length), joined.toByteArray());
+                assertEquals(100, loader.skip(100));
+                assertEquals(expected[110] & 0xFF, loader.pop());
+                loader.seek(3);
+                assertArrayEquals(Arrays.copyOfRange(expected, 3, expected.length), loader.toContent());
+            }
+        }
+        // 代理对只编码为一个字节，字节长度未知
+        try (ByteLoader loader = ByteLoaderFactory.of("a\uD83D\uDE00b", StandardCharsets.US_ASCII, 16)) {
+            assertEquals(-1, loader.remaining());
+            assertArrayEquals("a?b".getBytes(StandardCharsets.US_ASCII), loader.toContent());
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.github.zhitron.byte_loader;
+
+import com.github.zhitron.byte_loader.impl.StripedByteBufferPool;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderByConcatTest {
+    @Test
+    public void testConcat() throws Exception {
+        byte[] data = "Hello, concatenated World!".getBytes();
+        try (ByteLoader loader = ByteLoaderFactory.concat(
+                ByteLoaderFactory.of(Arrays.copyOfRange(data, 0, 5), 2),
+                ByteLoaderFactory.of(new byte[0]),
+                ByteLoaderFactory.of(new ByteArrayInputStream(data, 5, 9), 3),
+                ByteLoaderFactory.wrap(ByteBuffer.wrap(data, 14, data.length - 14)))) {
+            // 跨越数据源边界预读
+            assertEquals(data[7], loader.peek(7));
+            assertEquals(data[20], loader.peek(20));
+            for (byte b : data) {
+                assertTrue(loader.hasNextByteValue());
+                assertEquals(b, loader.nextByteValue());
+            }
+            assertFalse(loader.hasNextByteValue());
+        }
+    }
+
+    @Test
+    public void testFiles() throws Exception {
+        Path[] parts = new Path[3];
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                byte[] part = new byte[1000 + i * 300];
+                Arrays.fill(part, (byte) ('a' + i));
+                parts[i] = Files.createTempFile("byte-loader-concat", ".part");
+                Files.write(parts[i], part);
+                expected.write(part);
+            }
+            byte[] all = expected.toByteArray();
+            AtomicInteger open = new AtomicInteger();
+            ReadableByteChannel tracked = new ReadableByteChannel() {
+                private final ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(new byte[]{'!'}));
+
+                {
+                    open.incrementAndGet();
+                }
+
+                @Override
+                public int read(ByteBuffer dst) throws IOException {
+                    return channel.read(dst);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return channel.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    open.decrementAndGet();
+                    channel.close();
+                }
+            };
+            try (ByteLoader loader = ByteLoaderFactory.concat(Arrays.asList(parts[0], tracked, parts[1].toFile(), parts[2]), 64)) {
+                assertArrayEquals(Arrays.copyOfRange(all, 0, 1000), readBytes(loader, 1000));
+                assertEquals('!', loader.pop());
+                // 读完的通道立即关闭
+                assertTrue(loader.hasNextByteValue());
+                assertEquals(0, open.get());
+                // 跳过与传输直接在文件通道上进行
+                assertEquals(1200, loader.skip(1200));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                assertEquals(all.length - 2200, loader.transferTo(out));
+                assertArrayEquals(Arrays.copyOfRange(all, 2200, all.length), out.toByteArray());
+                assertFalse(loader.hasNextByteValue());
+            }
+            // 关闭时释放尚未读取的数据源
+            AtomicInteger closed = new AtomicInteger();
+            ByteLoader pending = new ByteLoader(4) {
+                @Override
+                protected void load(ByteBuffer buffer) {
+                }
+
+                @Override
+                public void close() throws Exception {
+                    closed.incrementAndGet();
+                    super.close();
+                }
+            };
+            ByteLoaderFactory.concat(Arrays.asList(parts[0], pending)).close();
+            assertEquals(1, closed.get());
+        } finally {
+            for (Path part : parts) {
+                if (part != null) Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupported() {
+        ByteLoaderFactory.concat(Arrays.asList("not a source"));
+    }
+
+    private static byte[] readBytes(ByteLoader loader, int length) {
+        byte[] result = new byte[length];
+        loader.readFully(result);
+        return result;
+    }
+
+    @Test
+    public void testReleaseOnFailure() throws Exception {
+        ByteBufferPool previous = ByteLoader.getDefaultBufferPool();
+        StripedByteBufferPool pool = new StripedByteBufferPool();
+        ByteLoader.setDefaultBufferPool(pool);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> ByteLoaderFactory.concat(List.of("unsupported"), 64));
+            // 数据源的类型在借出缓冲区之前校验，构造失败时没有借出缓冲区
+            assertEquals(0, pool.getMissCount());
+            assertEquals(0, pool.getHitCount());
+        } finally {
+            ByteLoader.setDefaultBufferPool(previous);
+        }
+    }
+
+    @Test
+    public void testNonBlockingChannel() throws Exception {
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try (Pipe.SinkChannel sink = pipe.sink()) {
+                for (byte b : "abc".getBytes()) {
+                    // 数据陆续到达，非阻塞通道在两次写入之间读取到 0 个字节
+                    Thread.sleep(20);
+                    sink.write(ByteBuffer.wrap(new byte[]{b}));
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        try (ByteLoader loader = ByteLoaderFactory.concat(List.of(pipe.source(), ByteLoaderFactory.of("def".getBytes())), 8)) {
+            assertArrayEquals("abcdef".getBytes(), loader.toContent());
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.zhitron.byte_loader;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderByInflaterTest {
+    @Test
+    public void testGzip() throws Exception {
+        byte[] first = data(10000, 1);
+        byte[] second = data(3000, 2);
+        ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(gzip(first));
+        concatenated.write(gzip(second));
+        byte[] expected = new byte[first.length + second.length];
+        System.arraycopy(first, 0, expected, 0, first.length);
+        System.arraycopy(second, 0, expected, first.length, second.length);
+        for (int bufferSize : new int[]{1, 7, 1024}) {
+            try (ByteLoader loader = ByteLoaderFactory.ofGzip(new ByteArrayInputStream(concatenated.toByteArray()), bufferSize)) {
+                assertArrayEquals(expected, loader.toContent());
+            }
+        }
+    }
+
+    @Test
+    public void testGzipHeader() throws Exception {
+        byte[] content = "Hello".getBytes(StandardCharsets.US_ASCII);
+        byte[] plain = gzip(content);
+        // 在标准头部之后插入 FNAME 字段
+        ByteArrayOutputStream named = new ByteArrayOutputStream();
+        named.write(plain, 0, 3);
+        named.write(plain[3] | 8);
+        named.write(plain, 4, 6);
+        named.write("hello.txt\0".getBytes(StandardCharsets.US_ASCII));
+        named.write(plain, 10, plain.length - 10);
+        // 尾部的无关数据会被忽略
+        named.write(new byte[]{1, 2, 3});
+        try (ByteLoader loader = ByteLoaderFactory.ofGzip(new ByteArrayInputStream(named.toByteArray()), 4)) {
+            assertArrayEquals(content, loader.toContent());
+        }
+    }
+
+    @Test
+    public void testIncompleteMemberHeader() throws Exception {
+        byte[] content = data(1000, 5);
+        byte[] compressed = gzip(content);
+        // 完整成员之后只有下一个成员头部的前几个字节，与 GZIPInputStream 一样在输入结束时正常结束
+        for (int length : new int[]{1, 3, 9}) {
+            ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+            truncated.write(compressed);
+            truncated.write(compressed, 0, length);
+            try (ByteLoader loader = ByteLoaderFactory.ofGzip(new ByteArrayInputStream(truncated.toByteArray()), 64)) {
+                assertArrayEquals(content, loader.toContent());
+            }
+        }
+    }
+
+    @Test
+    public void testNonBlockingChannel() throws Exception {
+        byte[] content = data(5000, 6);
+        byte[] compressed = gzip(content);
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            try (Pipe.SinkChannel sink = pipe.sink()) {
+                for (int i = 0; i < compressed.length; i += 256) {
+                    // 压缩数据陆续到达，非阻塞通道在两次写入之间读取到 0 个字节
+                    Thread.sleep(5);
+                    sink.write(ByteBuffer.wrap(compressed, i, Math.min(256, compressed.length - i)));
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        try (ByteLoader loader = ByteLoaderFactory.ofGzip(pipe.source(), 128)) {
+            assertArrayEquals(content, loader.toContent());
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testCorrupt() throws Exception {
+        byte[] compressed = gzip(data(500, 3));
+        compressed[compressed.length - 5] ^= 1;
+        try (ByteLoader loader = ByteLoaderFactory.ofGzip(new ByteArrayInputStream(compressed), 64)) {
+            loader.toContent();
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        byte[] truncated = gzip(data(500, 3));
+        try (ByteLoader loader = ByteLoaderFactory.ofGzip(new ByteArrayInputStream(truncated, 0, truncated.length - 2), 64)) {
+            loader.toContent();
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testDeflate() throws Exception {
+        byte[] content = data(20000, 4);
+        for (boolean nowrap : new boolean[]{false, true}) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (DeflaterOutputStream output = new DeflaterOutputStream(compressed, new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap))) {
+                output.write(content);
+            }
+            try (ByteLoader loader = ByteLoaderFactory.ofDeflate(new ByteArrayInputStream(compressed.toByteArray()), 100, nowrap)) {
+                for (byte b : content) {
+                    assertTrue(loader.hasNextByteValue());
+                    assertEquals(b, loader.nextByteValue());
+                }
+                assertFalse(loader.hasNextByteValue());
+            }
+        }
+    }
+
+    @Test
+    public void testDeflateSmallBuffer() throws Exception {
+        // 长匹配的结尾放不进小缓冲区时，输入用完后 Inflater 内部仍有待输出的字节
+        byte[] content = "hello".repeat(10000).getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream output = new DeflaterOutputStream(compressed, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            output.write(content);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.ofDeflate(new ByteArrayInputStream(compressed.toByteArray()), 16, true)) {
+            assertArrayEquals(content, loader.toContent());
+        }
+    }
+
+    private static byte[] data(int length, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(6));
+        }
+        return data;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(content);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -1,8 +1,18 @@
 package com.github.zhitron.byte_loader;
 
+import org.junit.Assume;
 import org.junit.Test;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static org.junit.Assert.*;
 
@@ -18,4 +28,89 @@ public class ByteLoaderByInputStreamTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testReadAhead() throws Exception {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 7, true)) {
+            assertEquals(data[6], (byte) loader.peek(6));
+            for (byte b : data) {
+                assertTrue(loader.hasNextByteValue());
+                assertEquals(b, loader.nextByteValue());
+            }
+            assertFalse(loader.hasNextByteValue());
+        }
+    }
+
+    @Test
+    public void testReadAheadFailure() throws Exception {
+        InputStream data = new SequenceInputStream(new ByteArrayInputStream(new byte[5]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken");
+            }
+        });
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 4, true)) {
+            byte[] result = new byte[5];
+            loader.readFully(result);
+            RuntimeException e = assertThrows(RuntimeException.class, loader::peek);
+            assertEquals("broken", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testSkipPastEnd() throws Exception {
+        byte[] data = "0123456789".getBytes();
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        try {
+            Files.write(file, data);
+            try (ByteLoader loader = ByteLoaderFactory.of(file.toFile())) {
+                assertEquals(10, loader.skip(1000));
+                assertEquals(-1, loader.peek());
+            }
+            try (ByteLoader loader = ByteLoaderFactory.of(new FileInputStream(file.toFile()), 4)) {
+                assertEquals('0', loader.pop());
+                assertEquals(9, loader.skip(1000));
+                assertEquals(-1, loader.peek());
+            }
+            try (ByteLoader loader = ByteLoaderFactory.of(new BufferedInputStream(new FileInputStream(file.toFile()), 2), 4)) {
+                assertEquals(6, loader.skip(6));
+                assertEquals('6', loader.pop());
+                assertEquals(2, loader.skip(2));
+                assertEquals('9', loader.pop());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSkipFifo() throws Exception {
+        Path fifo = Files.createTempDirectory("byte-loader").resolve("fifo");
+        try {
+            Assume.assumeTrue(new ProcessBuilder("mkfifo", fifo.toString()).start().waitFor() == 0);
+            Thread writer = Thread.ofVirtual().start(() -> {
+                try (OutputStream output = Files.newOutputStream(fifo)) {
+                    output.write("0123456789".getBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // 管道无法获取大小与位置，跳过时退回到读取确认的方式
+            try (ByteLoader loader = ByteLoaderFactory.of(new FileInputStream(fifo.toFile()), 4)) {
+                assertEquals('0', loader.pop());
+                assertEquals(5, loader.skip(5));
+                assertEquals('6', loader.pop());
+                assertEquals(3, loader.skip(1000));
+                assertEquals(-1, loader.peek());
+            }
+            writer.join();
+        } finally {
+            Files.deleteIfExists(fifo);
+            Files.delete(fifo.getParent());
+        }
+    }
 }
@@ -2,6 +2,10 @@ package com.github.zhitron.byte_loader;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 import static org.junit.Assert.*;
 
 public class ByteLoaderByLongArrayTest {
@@ -22,4 +26,34 @@ public class ByteLoaderByLongArrayTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testLittleEndian() throws Exception {
+        long[] data = {0x123456789ABCDEF0L, 0x0FEDCBA987654321L, -1L};
+        ByteBuffer expected = ByteBuffer.allocate(data.length * 8).order(ByteOrder.LITTLE_ENDIAN);
+        expected.asLongBuffer().put(data);
+        try (ByteLoader loader = ByteLoaderFactory.of(data, ByteOrder.LITTLE_ENDIAN, 12)) {
+            assertArrayEquals(expected.array(), loader.toContent());
+        }
+    }
+
+    @Test
+    public void testPartialElement() throws Exception {
+        long[] data = new long[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i * 0x0102030405060708L;
+        }
+        ByteBuffer expected = ByteBuffer.allocate(data.length * 8);
+        expected.asLongBuffer().put(data);
+        byte[] bytes = expected.array();
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 1024)) {
+            assertEquals(bytes[2] & 0xFF, loader.pop(2));
+            // 压缩后剩余空间不足一个 long，需要跨越元素边界加载
+            assertEquals(bytes[3 + 1021] & 0xFF, loader.peek(1021));
+            assertEquals(bytes.length - 3, loader.remaining());
+            assertEquals(5, loader.skip(5));
+            assertArrayEquals(Arrays.copyOfRange(bytes, 8, bytes.length), loader.toContent());
+            assertEquals(-1, loader.peek());
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package com.github.zhitron.byte_loader;
+
+import com.github.zhitron.byte_loader.impl.ByteLoaderByMappedFile;
+import com.github.zhitron.byte_loader.impl.StripedByteBufferPool;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderByMappedFileTest {
+    @Test
+    public void test() throws Exception {
+        byte[] data = "Hello from MappedFile".getBytes();
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        try {
+            Files.write(file, data);
+            try (ByteLoader loader = new ByteLoaderByMappedFile(file, 3, 5)) {
+                for (byte b : data) {
+                    assertTrue(loader.hasNextByteValue());
+                    assertEquals(b, loader.nextByteValue());
+                }
+                assertFalse(loader.hasNextByteValue());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFactory() throws Exception {
+        byte[] data = new byte[(int) ByteLoaderFactory.MAPPED_FILE_THRESHOLD + 17];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        try {
+            Files.write(file, data);
+            try (ByteLoader loader = ByteLoaderFactory.of(file)) {
+                assertTrue(loader instanceof ByteLoaderByMappedFile);
+                assertArrayEquals(data, loader.toContent());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSplit() throws Exception {
+        byte[] data = "Hello from split MappedFile".getBytes();
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        try {
+            Files.write(file, data);
+            try (ByteLoader loader = new ByteLoaderByMappedFile(file, 4, 8)) {
+                List<ByteLoader> parts = loader.split(3);
+                assertEquals(3, parts.size());
+                StringBuilder result = new StringBuilder();
+                for (ByteLoader part : parts) {
+                    try (part) {
+                        result.append(new String(part.toContent()));
+                    }
+                }
+                assertEquals("Hello from split MappedFile", result.toString());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReleaseOnFailure() throws Exception {
+        ByteBufferPool previous = ByteLoader.getDefaultBufferPool();
+        StripedByteBufferPool pool = new StripedByteBufferPool();
+        ByteLoader.setDefaultBufferPool(pool);
+        try {
+            Path missing = Files.createTempFile("byte-loader", ".bin");
+            Files.delete(missing);
+            assertThrows(NoSuchFileException.class, () -> new ByteLoaderByMappedFile(missing, 64));
+            // 构造失败时借出的缓冲区已经归还，下一个加载器可以复用
+            try (ByteLoader loader = ByteLoaderFactory.of(new byte[3], 64)) {
+                assertEquals(3, loader.toContent().length);
+            }
+            assertEquals(1, pool.getMissCount());
+            assertEquals(1, pool.getHitCount());
+        } finally {
+            ByteLoader.setDefaultBufferPool(previous);
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.github.zhitron.byte_loader;
 
+import com.github.zhitron.byte_loader.impl.ByteLoaderByReadableByteChannel;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -21,4 +27,117 @@ public class ByteLoaderByReadableByteChannelTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testReadAhead() throws Exception {
+        byte[] expected = new byte[10000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) (i * 7);
+        }
+        ReadableByteChannel data = Channels.newChannel(new ByteArrayInputStream(expected));
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64, true)) {
+            assertArrayEquals(expected, loader.toContent());
+        }
+    }
+
+    @Test
+    public void testReadAheadBackoff() throws Exception {
+        byte[] expected = "ready".getBytes();
+        long ready = System.nanoTime() + 100_000_000L;
+        AtomicInteger reads = new AtomicInteger();
+        // 前 100 毫秒一直读取到 0 个字节的数据源，预读线程应退避等待而不是空转
+        ReadableByteChannel data = new ReadableByteChannel() {
+            private boolean done;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                reads.incrementAndGet();
+                if (System.nanoTime() < ready) return 0;
+                if (done) return -1;
+                done = true;
+                dst.put(expected);
+                return expected.length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64, true)) {
+            assertArrayEquals(expected, loader.toContent());
+        }
+        assertTrue(reads.get() < 1000);
+    }
+
+    @Test
+    public void testReadAheadClose() throws Exception {
+        ByteBufferPool previous = ByteLoader.getDefaultBufferPool();
+        AtomicInteger acquired = new AtomicInteger();
+        ByteLoader.setDefaultBufferPool(new ByteBufferPool() {
+            @Override
+            public ByteBuffer acquire(int capacity) {
+                acquired.incrementAndGet();
+                return ByteBuffer.allocateDirect(capacity);
+            }
+
+            @Override
+            public void release(ByteBuffer buffer) {
+                acquired.decrementAndGet();
+            }
+        });
+        try {
+            Pipe pipe = Pipe.open();
+            try (Pipe.SinkChannel ignored = pipe.sink()) {
+                ByteLoader loader = ByteLoaderFactory.of(pipe.source(), 64, true);
+                // 加载器的缓冲区与两个预读缓冲区都从缓冲区池中借出
+                assertEquals(3, acquired.get());
+                // 预读线程阻塞在没有数据的通道上，关闭时等待其退出并归还全部缓冲区
+                loader.close();
+                assertEquals(0, acquired.get());
+            }
+        } finally {
+            ByteLoader.setDefaultBufferPool(previous);
+        }
+    }
+
+    @Test
+    public void testNonBlocking() throws Exception {
+        Pipe pipe = Pipe.open();
+        try (Selector selector = Selector.open();
+             Pipe.SinkChannel sink = pipe.sink();
+             ByteLoaderByReadableByteChannel loader = new ByteLoaderByReadableByteChannel(pipe.source(), 8)) {
+            SelectionKey key = loader.register(selector);
+            assertSame(loader, key.attachment());
+            // 暂时没有数据时不会误认为流末尾
+            assertEquals(ByteLoader.WOULD_BLOCK, loader.tryPeek());
+            assertEquals(ByteLoader.WOULD_BLOCK, loader.tryPop());
+            sink.write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+            assertEquals(1, selector.select(10_000));
+            assertEquals(1, loader.tryPop());
+            assertEquals(3, loader.tryPeek(1));
+            assertEquals(ByteLoader.WOULD_BLOCK, loader.tryPeek(2));
+            assertEquals(2, loader.tryPop());
+            assertEquals(3, loader.tryPop());
+            assertEquals(ByteLoader.WOULD_BLOCK, loader.tryPop());
+            // 阻塞的读取方法在非阻塞通道上等待数据可读
+            Thread writer = Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(50);
+                    sink.write(ByteBuffer.wrap(new byte[]{4}));
+                    sink.close();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            assertEquals(4, loader.pop());
+            assertEquals(-1, loader.pop());
+            assertEquals(-1, loader.tryPeek());
+            writer.join();
+        }
+    }
 }
@@ -3,7 +3,12 @@ package com.github.zhitron.byte_loader;
 import org.junit.Test;
 
 import java.io.CharArrayReader;
+import java.io.FilterReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.Assert.*;
 
@@ -20,4 +25,23 @@ public class ByteLoaderByReaderTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testCharset() throws Exception {
+        String text = "plain ascii, café, 字节加载器, \uD83D\uDE00 and a lone \uD800 surrogate";
+        for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII, StandardCharsets.UTF_16}) {
+            for (int bufferSize : new int[]{2, 3, 5, 64}) {
+                // 每次只读取一个字符，使代理对被拆分到两次读取中
+                Reader reader = new FilterReader(new StringReader(text)) {
+                    @Override
+                    public int read(char[] cbuf, int off, int len) throws IOException {
+                        return super.read(cbuf, off, Math.min(len, 1));
+                    }
+                };
+                try (ByteLoader loader = ByteLoaderFactory.of(reader, charset, bufferSize)) {
+                    assertArrayEquals(charset + " " + bufferSize, text.getBytes(charset), loader.toContent());
+                }
+            }
+        }
+    }
 }
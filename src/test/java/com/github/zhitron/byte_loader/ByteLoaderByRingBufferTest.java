@@ -0,0 +1,113 @@
+package com.github.zhitron.byte_loader;
+
+import com.github.zhitron.byte_loader.impl.ByteLoaderByRingBuffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderByRingBufferTest {
+    @Test
+    public void test() throws Exception {
+        for (ByteLoaderByRingBuffer.WaitStrategy strategy : ByteLoaderByRingBuffer.WaitStrategy.values()) {
+            int total = 50_000;
+            try (ByteLoaderByRingBuffer loader = new ByteLoaderByRingBuffer(100, 64, strategy)) {
+                assertEquals(128, loader.capacity());
+                Thread producer = Thread.ofPlatform().start(() -> {
+                    try {
+                        byte[] chunk = new byte[37];
+                        int written = 0;
+                        while (written < total) {
+                            if (written % 3 == 0) {
+                                loader.put((byte) written);
+                                written++;
+                            } else {
+                                int len = Math.min(chunk.length, total - written);
+                                for (int i = 0; i < len; i++) {
+                                    chunk[i] = (byte) (written + i);
+                                }
+                                loader.put(ByteBuffer.wrap(chunk, 0, len));
+                                written += len;
+                            }
+                        }
+                        loader.complete();
+                    } catch (InterruptedException e) {
+                        loader.fail(e);
+                    }
+                });
+                for (int i = 0; i < total; i++) {
+                    if (i % 1000 == 0 && i + 50 < total) {
+                        // 预读的字节可能尚未写入，需要等待生产者
+                        assertEquals((byte) (i + 50) & 0xFF, loader.peek(50));
+                    }
+                    assertTrue(strategy.name(), loader.hasNextByteValue());
+                    assertEquals((byte) i, loader.nextByteValue());
+                }
+                assertFalse(loader.hasNextByteValue());
+                producer.join();
+            }
+        }
+    }
+
+    @Test
+    public void testFail() throws Exception {
+        try (ByteLoaderByRingBuffer loader = ByteLoaderFactory.ofRingBuffer(16, ByteLoaderByRingBuffer.WaitStrategy.BLOCK)) {
+            assertEquals(3, loader.offer(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+            assertEquals(13, loader.offer(ByteBuffer.wrap(new byte[20])));
+            loader.fail(new IOException("broken"));
+            try {
+                loader.put((byte) 0);
+                fail();
+            } catch (IllegalStateException ignored) {
+            }
+            assertEquals(1, loader.pop());
+            loader.skip(15);
+            try {
+                loader.peek();
+                fail();
+            } catch (RuntimeException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        ByteLoaderByRingBuffer loader = new ByteLoaderByRingBuffer(4, 4, ByteLoaderByRingBuffer.WaitStrategy.BLOCK);
+        Thread producer = Thread.ofVirtual().start(() -> {
+            try {
+                loader.put(ByteBuffer.wrap(new byte[100]));
+                fail();
+            } catch (IllegalStateException | InterruptedException ignored) {
+            }
+        });
+        assertEquals(0, loader.pop());
+        loader.close();
+        producer.join(10_000);
+        assertFalse(producer.isAlive());
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        for (ByteLoaderByRingBuffer.WaitStrategy strategy : ByteLoaderByRingBuffer.WaitStrategy.values()) {
+            ByteLoaderByRingBuffer loader = new ByteLoaderByRingBuffer(4, 4, strategy);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread producer = Thread.ofPlatform().start(() -> {
+                try {
+                    // 没有消费者，写满后一直等待
+                    loader.put(ByteBuffer.wrap(new byte[100]));
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            producer.interrupt();
+            producer.join(10_000);
+            assertFalse(strategy.name(), producer.isAlive());
+            assertTrue(strategy.name(), error.get() instanceof InterruptedException);
+            loader.close();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.github.zhitron.byte_loader;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.Assert.*;
 
 public class ByteLoaderByShortArrayTest {
@@ -17,4 +19,25 @@ public class ByteLoaderByShortArrayTest {
             assertFalse(loader.hasNextByteValue());
         }
     }
+
+    @Test
+    public void testPartialElement() throws Exception {
+        short[] data = new short[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (short) (i * 0x0301);
+        }
+        ByteBuffer expected = ByteBuffer.allocate(data.length * 2);
+        expected.asShortBuffer().put(data);
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 16)) {
+            for (int i = 0; i < expected.capacity(); i++) {
+                // 每次读取一个字节后查看缓冲区能容纳的最后一个字节，压缩后剩余空间总是不足一个 short
+                assertEquals(expected.get(i) & 0xFF, loader.peek());
+                if (i + 15 < expected.capacity()) {
+                    assertEquals(expected.get(i + 15) & 0xFF, loader.peek(15));
+                }
+                assertEquals(expected.get(i) & 0xFF, loader.pop());
+            }
+            assertEquals(-1, loader.pop());
+        }
+    }
 }
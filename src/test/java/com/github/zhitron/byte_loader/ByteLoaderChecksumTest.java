@@ -0,0 +1,83 @@
+package com.github.zhitron.byte_loader;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32C;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderChecksumTest {
+    @Test
+    public void testChecksum() throws Exception {
+        byte[] data = new byte[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        CRC32C expected = new CRC32C();
+        expected.update(data, 100, data.length - 100);
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 64)) {
+            loader.skip(100);
+            ByteLoaderChecksum crc = loader.checksum(new CRC32C());
+            loader.mark(200);
+            loader.skip(150);
+            loader.reset();
+            while (loader.hasNextByteValue()) {
+                loader.peek(10);
+                loader.nextByteValue();
+            }
+            assertEquals(data.length - 100, crc.getLength());
+            assertEquals(expected.getValue(), crc.getValue());
+        }
+    }
+
+    @Test
+    public void testBypass() throws Exception {
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Adler32 expected = new Adler32();
+        expected.update(data);
+        MessageDigest sha = MessageDigest.getInstance("SHA-256");
+        byte[] digest = sha.digest(data);
+        // 字节数组数据源支持直接跳过与随机访问，附加校验和后仍然需要经过内部缓冲区
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 100)) {
+            ByteLoaderChecksum adler = loader.checksum(new Adler32());
+            ByteLoaderChecksum sha256 = loader.checksum(MessageDigest.getInstance("SHA-256"));
+            assertEquals(1000, loader.skip(1000));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(2000, loader.transferTo(out));
+            assertArrayEquals(Arrays.copyOfRange(data, 1000, 3000), out.toByteArray());
+            assertEquals(expected.getValue(), adler.getValue());
+            assertArrayEquals(digest, sha256.digest());
+            try {
+                adler.digest();
+                fail();
+            } catch (UnsupportedOperationException ignored) {
+            }
+            try {
+                loader.seek(0);
+                fail();
+            } catch (UnsupportedOperationException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testView() throws Exception {
+        byte[] data = "checksum over a view".getBytes();
+        CRC32C expected = new CRC32C();
+        expected.update(data, 4, data.length - 4);
+        try (ByteLoader loader = ByteLoaderFactory.wrap(ByteBuffer.wrap(data))) {
+            loader.skip(4);
+            ByteLoaderChecksum crc = loader.checksum(new CRC32C());
+            assertEquals(expected.getValue(), crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.zhitron.byte_loader;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderLoadEventTest {
+    @Test
+    public void test() throws Exception {
+        Path file = Files.createTempFile("byte-loader", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("com.github.zhitron.byte_loader.Load").withThreshold(Duration.ZERO);
+                recording.start();
+                try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(new byte[100]), 64)) {
+                    assertEquals(100, loader.toContent().length);
+                }
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertFalse(events.isEmpty());
+            long loaded = 0;
+            for (RecordedEvent event : events) {
+                assertEquals("com.github.zhitron.byte_loader.impl.ByteLoaderByInputStream", event.getClass("loaderClass").getName());
+                assertTrue(event.getInt("availableBytes") > 0);
+                loaded += event.getInt("loadedBytes");
+            }
+            assertEquals(100, loaded);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.zhitron.byte_loader;
+
+import com.github.zhitron.byte_loader.impl.ByteLoaderMetrics;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderMetricsTest {
+    @Test
+    public void test() throws Exception {
+        ByteLoaderMetrics metrics = new ByteLoaderMetrics();
+        try (ByteLoader loader = ByteLoaderFactory.of(new byte[1000], 64)) {
+            loader.setListener(metrics);
+            assertSame(metrics, loader.getListener());
+            assertEquals(0, loader.peek(9));
+            assertEquals(0, loader.peekInt(ByteOrder.BIG_ENDIAN));
+            loader.pop(49);
+            loader.skip(450);
+            assertEquals(1000 - 500, loader.toContent().length);
+        }
+        assertEquals(2, metrics.getPeekCount());
+        assertEquals(14, metrics.getPeekedBytes());
+        assertEquals(1000, metrics.getConsumedBytes());
+        // skip 时丢弃缓冲区中的 14 个字节，其余 436 个字节直接在数据源中跳过
+        assertEquals(1000 - 436, metrics.getLoadedBytes());
+        assertTrue(metrics.getLoadCount() > 0);
+        assertEquals(metrics.getLoadCount(), sum(metrics.getLoadSizeHistogram()));
+        assertTrue(metrics.getAverageFillRatio() > 0 && metrics.getAverageFillRatio() <= 1);
+        metrics.reset();
+        assertEquals(0, metrics.getLoadCount());
+    }
+
+    @Test
+    public void testCompactAndJmx() throws Exception {
+        ByteLoaderMetrics metrics = new ByteLoaderMetrics();
+        ObjectName name = metrics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(new byte[100]), 16)) {
+            loader.setListener(metrics);
+            loader.pop(9);
+            loader.peek(15);
+            assertEquals(6, metrics.getCompactedBytes());
+            assertEquals(2L, server.getAttribute(name, "FillCount"));
+            assertEquals(10L, server.getAttribute(name, "ConsumedBytes"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static long sum(long[] values) {
+        long result = 0;
+        for (long value : values) {
+            result += value;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.zhitron.byte_loader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderPublisherTest {
+    @Test
+    public void testPublisher() throws Exception {
+        byte[] data = new byte[10050];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 13);
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteLoader loader = new ByteLoader(256) {
+            private int offset;
+
+            @Override
+            protected void load(ByteBuffer buffer) {
+                int len = Math.min(buffer.remaining(), data.length - offset);
+                buffer.put(data, offset, len);
+                offset += len;
+            }
+
+            @Override
+            public void close() throws Exception {
+                closed.set(true);
+                super.close();
+            }
+        };
+        Flow.Publisher<ByteBuffer> publisher = loader.publisher(100);
+        List<ByteBuffer> chunks = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+            private int outstanding;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                outstanding = 2;
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                assertTrue("demand exceeded", --outstanding >= 0);
+                assertTrue(item.remaining() <= 100);
+                chunks.add(item);
+                if (outstanding == 0) {
+                    outstanding = 2;
+                    subscription.request(2);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(10, TimeUnit.SECONDS);
+        // 内部缓冲区的大小不是 chunkSize 的倍数，除最后一个元素外仍然都是完整的
+        assertEquals(101, chunks.size());
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            assertEquals(100, chunks.get(i).remaining());
+        }
+        assertEquals(50, chunks.get(100).remaining());
+        ByteBuffer result = ByteBuffer.allocate(data.length);
+        chunks.forEach(result::put);
+        assertArrayEquals(data, result.array());
+        assertTrue(closed.get());
+        // 只接受一个订阅者
+        CompletableFuture<Throwable> rejected = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                rejected.complete(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertTrue(rejected.get(10, TimeUnit.SECONDS) instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testExactDemand() throws Exception {
+        // 数据长度恰好是 chunkSize 的倍数，订阅者只请求它预期的元素数量
+        byte[] data = new byte[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        List<ByteBuffer> chunks = new ArrayList<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        ByteLoaderFactory.of(data, 64).publisher(100).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(3);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                chunks.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(10, TimeUnit.SECONDS);
+        assertEquals(3, chunks.size());
+        ByteBuffer result = ByteBuffer.allocate(data.length);
+        chunks.forEach(result::put);
+        assertArrayEquals(data, result.array());
+    }
+
+    @Test
+    public void testSubscriber() throws Exception {
+        byte[] data = "publisher to loader round trip".getBytes();
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>();
+             ByteLoader loader = ByteLoaderFactory.of(publisher, 8, 2)) {
+            Thread producer = Thread.ofVirtual().start(() -> {
+                while (publisher.getNumberOfSubscribers() == 0) {
+                    Thread.onSpinWait();
+                }
+                for (int i = 0; i < data.length; i += 5) {
+                    // submit 在订阅者的请求用完后会阻塞
+                    publisher.submit(ByteBuffer.wrap(data, i, Math.min(5, data.length - i)));
+                }
+                publisher.close();
+            });
+            // 第一次读取时才订阅
+            assertEquals(data[0], loader.nextByteValue());
+            assertEquals(data[7], loader.peek(6));
+            for (int i = 1; i < data.length; i++) {
+                assertEquals(data[i], loader.nextByteValue());
+            }
+            assertFalse(loader.hasNextByteValue());
+            producer.join();
+        }
+        // 先发布一个元素再传递错误
+        Flow.Publisher<ByteBuffer> failing = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private boolean sent;
+
+            @Override
+            public void request(long n) {
+                if (!sent) {
+                    sent = true;
+                    subscriber.onNext(ByteBuffer.wrap(new byte[]{1, 2}));
+                    subscriber.onError(new IOException("broken"));
+                }
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        try (ByteLoader loader = ByteLoaderFactory.of(failing)) {
+            assertEquals(1, loader.pop());
+            assertEquals(2, loader.pop());
+            try {
+                loader.pop();
+                fail();
+            } catch (RuntimeException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+    }
+}
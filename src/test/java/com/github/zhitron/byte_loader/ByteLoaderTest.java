@@ -0,0 +1,445 @@
+package com.github.zhitron.byte_loader;
+
+import com.github.zhitron.byte_loader.impl.ByteLoaderByMappedFile;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ByteLoaderTest {
+    @Test
+    public void testRead() throws Exception {
+        byte[] data = "Hello from bulk read".getBytes();
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 4)) {
+            assertEquals(data[0], loader.nextByteValue());
+            byte[] result = new byte[data.length];
+            result[0] = data[0];
+            int offset = 1;
+            while (offset < result.length) {
+                int read = loader.read(result, offset, result.length - offset);
+                assertTrue(read > 0 && read <= 4);
+                offset += read;
+            }
+            assertEquals(-1, loader.read(new byte[1], 0, 1));
+            assertArrayEquals(data, result);
+            assertFalse(loader.hasNextByteValue());
+        }
+    }
+
+    @Test
+    public void testReadByteBuffer() throws Exception {
+        byte[] data = "Hello from ByteBuffer read".getBytes();
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 5)) {
+            ByteBuffer result = ByteBuffer.allocateDirect(data.length);
+            loader.readFully(result);
+            assertEquals(-1, loader.read(ByteBuffer.allocate(1)));
+            result.flip();
+            byte[] content = new byte[result.remaining()];
+            result.get(content);
+            assertArrayEquals(data, content);
+        }
+    }
+
+    @Test
+    public void testReadFully() throws Exception {
+        byte[] data = "Hello".getBytes();
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 2)) {
+            byte[] result = new byte[3];
+            loader.readFully(result);
+            assertArrayEquals(Arrays.copyOf(data, 3), result);
+            assertThrows(NoSuchElementException.class, () -> loader.readFully(new byte[3]));
+        }
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        ByteLoader loader = ByteLoaderFactory.of(new byte[]{1, 2, 3}, 4);
+        assertEquals(1, loader.pop());
+        loader.close();
+        assertThrows(IllegalStateException.class, loader::peek);
+        assertThrows(IllegalStateException.class, () -> loader.pop(1));
+        assertThrows(IllegalStateException.class, () -> loader.read(new byte[2], 0, 2));
+        assertThrows(IllegalStateException.class, () -> loader.skip(1));
+        assertThrows(IllegalStateException.class, () -> loader.indexOf((byte) 3));
+        assertThrows(IllegalStateException.class, () -> loader.popShort(ByteOrder.BIG_ENDIAN));
+    }
+
+    @Test
+    public void testPeekAndPop() throws Exception {
+        byte[] data = {1, 2, 3, 4, 5, 6, 7, (byte) 0xFF, 9, 10};
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 4)) {
+            assertEquals(4, loader.peek(3));
+            assertEquals(1, loader.peek());
+            assertEquals(3, loader.pop(2));
+            assertEquals(7, loader.peek(3));
+            assertEquals(4, loader.pop());
+            assertEquals(0xFF, loader.peek(3));
+            assertEquals(0xFF, loader.pop(3));
+            assertEquals(-1, loader.peek(2));
+            assertEquals(10, loader.peek(1));
+            assertEquals(-1, loader.pop(3));
+            assertFalse(loader.hasNextByteValue());
+            assertThrows(IllegalArgumentException.class, () -> loader.peek(4));
+        }
+    }
+
+    @Test
+    public void testPrimitives() throws Exception {
+        ByteBuffer data = ByteBuffer.allocate(64);
+        data.put((byte) 1).putShort((short) 0x1234).putInt(0x89ABCDEF).putLong(0x0123456789ABCDEFL)
+                .putFloat(1.5f).putDouble(-2.25);
+        data.order(ByteOrder.LITTLE_ENDIAN).putShort((short) 0x1234).putInt(0x89ABCDEF).putLong(0x0123456789ABCDEFL)
+                .putFloat(1.5f).putDouble(-2.25);
+        byte[] content = Arrays.copyOf(data.array(), data.position());
+        for (int bufferSize : new int[]{3, 9, 64}) {
+            try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(content), bufferSize)) {
+                assertEquals(1, loader.pop());
+                for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                    if (bufferSize >= 8) {
+                        assertEquals((short) 0x1234, loader.peekShort(order));
+                    }
+                    assertEquals((short) 0x1234, loader.popShort(order));
+                    assertEquals(0x89ABCDEF, loader.popInt(order));
+                    if (bufferSize >= 8) {
+                        assertEquals(0x0123456789ABCDEFL, loader.peekLong(order));
+                    }
+                    assertEquals(0x0123456789ABCDEFL, loader.popLong(order));
+                    assertEquals(1.5f, loader.popFloat(order), 0);
+                    assertEquals(-2.25, loader.popDouble(order), 0);
+                }
+                assertThrows(NoSuchElementException.class, () -> loader.popInt(ByteOrder.BIG_ENDIAN));
+            }
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(content, 3)) {
+            assertThrows(IllegalArgumentException.class, () -> loader.peekInt(ByteOrder.BIG_ENDIAN));
+        }
+        // 字节序为 null 时在读取之前失败，不消耗任何字节
+        try (ByteLoader loader = ByteLoaderFactory.of(content, 3)) {
+            assertThrows(NullPointerException.class, () -> loader.popShort(null));
+            assertThrows(NullPointerException.class, () -> loader.popInt(null));
+            assertThrows(NullPointerException.class, () -> loader.popLong(null));
+            assertEquals(1, loader.pop());
+        }
+    }
+
+    @Test
+    public void testSplit() throws Exception {
+        long[] longs = new long[100];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = i * 0x0101010101010101L;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(longs.length * 8);
+        bytes.asLongBuffer().put(longs);
+        byte[] data = bytes.array();
+        for (ByteLoader loader : new ByteLoader[]{
+                ByteLoaderFactory.of(data, 16),
+                ByteLoaderFactory.of(longs, 16),
+                ByteLoaderFactory.of(ByteBuffer.wrap(data), 16),
+                ByteLoaderFactory.wrap(ByteBuffer.wrap(data))}) {
+            try (loader) {
+                assertEquals(data.length, loader.remaining());
+                loader.pop(2);
+                assertEquals(data.length - 3, loader.remaining());
+                List<ByteLoader> parts = loader.split(7);
+                assertEquals(7, parts.size());
+                ByteArrayOutputStream result = new ByteArrayOutputStream();
+                for (ByteLoader part : parts) {
+                    try (part) {
+                        result.write(part.toContent());
+                    }
+                }
+                assertArrayEquals(Arrays.copyOfRange(data, 3, data.length), result.toByteArray());
+                assertEquals(data[3], (byte) loader.peek());
+            }
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data))) {
+            assertEquals(-1, loader.remaining());
+            assertThrows(UnsupportedOperationException.class, () -> loader.split(2));
+        }
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 31 + i / 7);
+        }
+        long signed = 0, unsigned = 0;
+        for (byte b : data) {
+            signed += b;
+            unsigned += b & 0xFF;
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64)) {
+            assertEquals(signed, loader.stream().asLongStream().sum());
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64); IntStream stream = loader.unsignedStream().parallel()) {
+            assertEquals(data.length, stream.spliterator().estimateSize());
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64); IntStream stream = loader.unsignedStream().parallel()) {
+            assertEquals(unsigned, stream.asLongStream().sum());
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64); IntStream stream = loader.stream().parallel()) {
+            assertArrayEquals(data, toBytes(stream.toArray()));
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 64)) {
+            assertEquals(unsigned, loader.unsignedStream().parallel().asLongStream().sum());
+        }
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 37 == 36 ? '\n' : i % 11 == 10 ? 0xFF : 'a' + i % 26);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64)) {
+            assertEquals(10, loader.indexOf((byte) 0xFF));
+            assertEquals(36, loader.indexOf((byte) '\n'));
+            assertEquals(-1, loader.indexOf((byte) 'A'));
+            assertEquals(0, loader.indexOf(new byte[0]));
+            assertEquals(35, loader.indexOf(new byte[]{'j', '\n', 'l'}));
+            assertEquals(-1, loader.indexOf(new byte[]{'j', '\n', 'x'}));
+            assertEquals(36, loader.skipUntil((byte) '\n'));
+            assertEquals('\n', loader.pop());
+            loader.pop(20);
+            assertEquals(15, loader.indexOf((byte) '\n'));
+            ByteBuffer dst = ByteBuffer.allocate(100);
+            assertEquals(15, loader.readUntil((byte) '\n', dst));
+            assertEquals(ByteBuffer.wrap(data, 58, 15), dst.flip());
+            assertEquals('\n', loader.peek());
+            assertEquals(0, loader.readUntil((byte) '\n', dst.clear()));
+            assertEquals(-1, loader.skipUntil((byte) 'A'));
+            assertEquals(-1, loader.readUntil((byte) '\n', dst.clear()));
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64)) {
+            ByteBuffer dst = ByteBuffer.allocate(data.length);
+            long lines = 0;
+            while (dst.hasRemaining() && loader.readUntil((byte) '\n', dst) >= 0) {
+                if (loader.pop() == '\n') {
+                    dst.put((byte) '\n');
+                    lines++;
+                }
+            }
+            assertEquals(27, lines);
+            assertArrayEquals(data, dst.array());
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64)) {
+            assertThrows(IllegalArgumentException.class, () -> loader.indexOf(new byte[65]));
+        }
+        // 字节序列比剩余的数据更长时不可能匹配，返回 -1
+        try (ByteLoader loader = ByteLoaderFactory.wrap(ByteBuffer.wrap(data, 0, 10))) {
+            assertEquals(-1, loader.indexOf(new byte[11]));
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(Arrays.copyOf(data, 100), 64)) {
+            assertEquals(-1, loader.indexOf(new byte[101]));
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data, 0, 50), 64)) {
+            assertEquals(-1, loader.indexOf(new byte[65]));
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 64)) {
+            assertThrows(IllegalArgumentException.class, () -> loader.indexOf(new byte[65]));
+        }
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 7);
+        }
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        try {
+            Files.write(file, data);
+            List<Callable<ByteLoader>> sources = Arrays.asList(
+                    () -> ByteLoaderFactory.of(data, 64),
+                    () -> ByteLoaderFactory.of(ByteBuffer.wrap(data), 64),
+                    () -> ByteLoaderFactory.wrap(ByteBuffer.wrap(data)),
+                    () -> ByteLoaderFactory.of(new ByteArrayInputStream(data), 64),
+                    () -> ByteLoaderFactory.of(new ByteArrayInputStream(data), 64, true),
+                    () -> ByteLoaderFactory.of(FileChannel.open(file), 64),
+                    () -> new ByteLoaderByMappedFile(file, 64)
+            );
+            for (Callable<ByteLoader> source : sources) {
+                try (ByteLoader loader = source.call()) {
+                    assertEquals(0, loader.skip(0));
+                    assertEquals(data[0], loader.nextByteValue());
+                    assertEquals(10, loader.skip(10));
+                    assertEquals(data[11], loader.nextByteValue());
+                    assertEquals(5000, loader.skip(5000));
+                    assertEquals(data[5012], loader.nextByteValue());
+                    assertEquals(data.length - 5013, loader.skip(Long.MAX_VALUE));
+                    assertTrue(loader.isEmpty());
+                    assertEquals(0, loader.skip(1));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+        long[] longs = new long[100];
+        ByteBuffer bytes = ByteBuffer.allocate(longs.length * 8);
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = i * 0x0102030405060708L;
+            bytes.putLong(longs[i]);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(longs, 16)) {
+            assertEquals(403, loader.skip(403));
+            assertArrayEquals(Arrays.copyOfRange(bytes.array(), 403, 419), readBytes(loader, 16));
+        }
+    }
+
+    @Test
+    public void testTransferTo() throws Exception {
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 13);
+        }
+        byte[] tail = Arrays.copyOfRange(data, 100, data.length);
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        Path target = Files.createTempFile("byte-loader", ".out");
+        try {
+            Files.write(file, data);
+            List<Callable<ByteLoader>> sources = Arrays.asList(
+                    () -> ByteLoaderFactory.of(data, 64),
+                    () -> ByteLoaderFactory.wrap(ByteBuffer.wrap(data)),
+                    () -> ByteLoaderFactory.of(new ByteArrayInputStream(data), 64),
+                    () -> ByteLoaderFactory.of(FileChannel.open(file), 64),
+                    () -> new ByteLoaderByMappedFile(file, 64)
+            );
+            for (Callable<ByteLoader> source : sources) {
+                try (ByteLoader loader = source.call()) {
+                    loader.skip(100);
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    assertEquals(tail.length, loader.transferTo(out));
+                    assertArrayEquals(tail, out.toByteArray());
+                    assertEquals(0, loader.transferTo(out));
+                }
+                try (ByteLoader loader = source.call(); FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    loader.skip(100);
+                    assertEquals(tail.length, loader.transferTo(out));
+                }
+                assertArrayEquals(tail, Files.readAllBytes(target));
+                try (ByteLoader loader = source.call()) {
+                    loader.skip(100);
+                    assertArrayEquals(tail, loader.toContent());
+                    assertEquals(0, loader.toContent().length);
+                }
+            }
+        } finally {
+            Files.delete(file);
+            Files.delete(target);
+        }
+    }
+
+    @Test
+    public void testMarkAndReset() throws Exception {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 3);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 16)) {
+            assertEquals(0, loader.position());
+            loader.pop(4);
+            assertEquals(5, loader.position());
+            loader.mark(200);
+            assertArrayEquals(Arrays.copyOfRange(data, 5, 105), readBytes(loader, 100));
+            assertEquals(105, loader.position());
+            assertEquals(data[108], (byte) loader.peek(3));
+            loader.reset();
+            assertEquals(5, loader.position());
+            assertArrayEquals(Arrays.copyOfRange(data, 5, 205), readBytes(loader, 200));
+            loader.reset();
+            assertEquals(150, loader.skip(150));
+            loader.reset();
+            assertEquals(data[5], loader.nextByteValue());
+            assertArrayEquals(Arrays.copyOfRange(data, 6, 306), readBytes(loader, 300));
+            assertThrows(IllegalStateException.class, loader::reset);
+            assertEquals(306, loader.position());
+            assertEquals(394, loader.skip(394));
+            assertEquals(700, loader.position());
+            assertEquals(data[700], loader.nextByteValue());
+        }
+    }
+
+    @Test
+    public void testSeek() throws Exception {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 5);
+        }
+        Path file = Files.createTempFile("byte-loader", ".bin");
+        try {
+            Files.write(file, data);
+            List<Callable<ByteLoader>> sources = Arrays.asList(
+                    () -> ByteLoaderFactory.of(data, 64),
+                    () -> ByteLoaderFactory.of(ByteBuffer.wrap(data), 64),
+                    () -> ByteLoaderFactory.wrap(ByteBuffer.wrap(data)),
+                    () -> ByteLoaderFactory.of(FileChannel.open(file), 64),
+                    () -> new ByteLoaderByMappedFile(file, 64)
+            );
+            for (Callable<ByteLoader> source : sources) {
+                try (ByteLoader loader = source.call()) {
+                    loader.seek(5000);
+                    assertEquals(5000, loader.position());
+                    assertEquals(data[5000], loader.nextByteValue());
+                    loader.seek(4990);
+                    assertEquals(data[4990], loader.nextByteValue());
+                    loader.seek(10);
+                    assertArrayEquals(Arrays.copyOfRange(data, 10, 100), readBytes(loader, 90));
+                    loader.seek(data.length);
+                    assertTrue(loader.isEmpty());
+                    loader.seek(0);
+                    assertArrayEquals(data, loader.toContent());
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64)) {
+            assertThrows(IllegalArgumentException.class, () -> loader.seek(data.length + 1));
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(new ByteArrayInputStream(data), 64)) {
+            loader.pop(40);
+            loader.seek(3);
+            assertEquals(data[3], loader.nextByteValue());
+            assertThrows(UnsupportedOperationException.class, () -> loader.seek(5000));
+        }
+        long[] longs = new long[100];
+        ByteBuffer bytes = ByteBuffer.allocate(longs.length * 8);
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = i * 0x0102030405060708L;
+            bytes.putLong(longs[i]);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(longs, 16)) {
+            loader.seek(605);
+            assertEquals(605, loader.position());
+            assertArrayEquals(Arrays.copyOfRange(bytes.array(), 605, 621), readBytes(loader, 16));
+        }
+    }
+
+    private static byte[] readBytes(ByteLoader loader, int length) {
+        byte[] result = new byte[length];
+        loader.readFully(result);
+        return result;
+    }
+
+    private static byte[] toBytes(int[] values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.zhitron.byte_loader;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class ByteRecordIteratorTest {
+    @Test
+    public void test() throws Exception {
+        String text = "alpha\r\nbeta\n\nthis line is longer than the buffer of the loader\r\ngamma";
+        try (ByteLoader loader = ByteLoaderFactory.of(text.getBytes(StandardCharsets.US_ASCII), 16)) {
+            ByteRecordIterator lines = loader.lines();
+            List<String> result = new ArrayList<>();
+            while (lines.hasNext()) {
+                ByteBuffer line = lines.next();
+                assertTrue(line.isReadOnly());
+                result.add(StandardCharsets.US_ASCII.decode(line).toString());
+            }
+            assertEquals(Arrays.asList("alpha", "beta", "", "this line is longer than the buffer of the loader", "gamma"), result);
+            assertThrows(NoSuchElementException.class, lines::next);
+        }
+    }
+
+    @Test
+    public void testDelimiter() throws Exception {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 100 == 99 ? 0 : i % 100 + 1);
+        }
+        try (ByteLoader loader = ByteLoaderFactory.of(data, 64)) {
+            ByteRecordIterator records = loader.records((byte) 0);
+            for (int i = 0; i < 10; i++) {
+                assertTrue(records.hasNext());
+                assertEquals(ByteBuffer.wrap(data, i * 100, 99), records.next());
+            }
+            assertFalse(records.hasNext());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.zhitron.byte_loader;
+
+import com.github.zhitron.byte_loader.impl.ByteLoaderByLongArray;
+import com.github.zhitron.byte_loader.impl.ByteLoaderByRingBuffer;
+import com.github.zhitron.byte_loader.impl.StripedByteBufferPool;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class StripedByteBufferPoolTest {
+    @Test
+    public void test() throws Exception {
+        StripedByteBufferPool pool = new StripedByteBufferPool(1024, 1, 1);
+        ByteBuffer first = pool.acquire(100);
+        assertTrue(first.isDirect());
+        assertEquals(128, first.capacity());
+        assertEquals(1, pool.getMissCount());
+        pool.release(first);
+        assertSame(first, pool.acquire(128));
+        assertEquals(1, pool.getHitCount());
+        pool.release(first);
+        pool.release(ByteBuffer.allocateDirect(128));
+        assertEquals(1, pool.getDiscardCount());
+        assertEquals(4096, pool.acquire(4096).capacity());
+        assertEquals(2, pool.getMissCount());
+    }
+
+    @Test
+    public void testLoader() throws Exception {
+        ByteBufferPool previous = ByteLoader.getDefaultBufferPool();
+        StripedByteBufferPool pool = new StripedByteBufferPool();
+        ByteLoader.setDefaultBufferPool(pool);
+        try {
+            byte[] data = "Hello from pool".getBytes();
+            for (int i = 0; i < 3; i++) {
+                try (ByteLoader loader = ByteLoaderFactory.of(data, 5)) {
+                    assertArrayEquals(data, loader.toContent());
+                }
+            }
+            assertEquals(1, pool.getMissCount());
+            assertEquals(2, pool.getHitCount());
+        } finally {
+            ByteLoader.setDefaultBufferPool(previous);
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() throws Exception {
+        ByteBufferPool previous = ByteLoader.getDefaultBufferPool();
+        AtomicInteger acquired = new AtomicInteger();
+        ByteLoader.setDefaultBufferPool(new ByteBufferPool() {
+            @Override
+            public ByteBuffer acquire(int capacity) {
+                acquired.incrementAndGet();
+                return ByteBuffer.allocateDirect(capacity);
+            }
+
+            @Override
+            public void release(ByteBuffer buffer) {
+                acquired.decrementAndGet();
+            }
+        });
+        try {
+            // 参数在借出缓冲区之前校验，构造失败时不会留下未归还的缓冲区
+            assertThrows(IllegalArgumentException.class, () -> new ByteLoaderByRingBuffer(0, 16, ByteLoaderByRingBuffer.WaitStrategy.BLOCK));
+            assertThrows(IllegalArgumentException.class, () -> ByteLoaderFactory.of(new SubmissionPublisher<>(), 16, 0));
+            assertThrows(NullPointerException.class, () -> ByteLoaderFactory.ofGzip((ReadableByteChannel) null, 16));
+            assertThrows(NullPointerException.class, () -> ByteLoaderFactory.of((InputStream) null, 16));
+            assertThrows(IndexOutOfBoundsException.class, () -> new ByteLoaderByLongArray(new long[2], 1, 5, ByteOrder.BIG_ENDIAN, 16));
+            assertEquals(0, acquired.get());
+        } finally {
+            ByteLoader.setDefaultBufferPool(previous);
+        }
+    }
+}